@@ -3,12 +3,17 @@ package com.felipe.todoapi.controllers;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.exceptions.InvalidTokenException;
+import com.felipe.todoapi.exceptions.LoginLockedException;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
+import com.felipe.todoapi.exceptions.ServiceOverloadedException;
 import com.felipe.todoapi.exceptions.UserAlreadyExistsException;
 import com.felipe.todoapi.utils.CustomResponseBody;
 import com.felipe.todoapi.utils.CustomValidationErrors;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -48,9 +53,9 @@ public class ApplicationControllerAdvice {
     return responseBody;
   }
 
-  @ExceptionHandler(JWTVerificationException.class)
+  @ExceptionHandler({JWTVerificationException.class, InvalidTokenException.class})
   @ResponseStatus(HttpStatus.UNAUTHORIZED)
-  public CustomResponseBody<Void> handleJWTVerificationException(JWTVerificationException e) {
+  public CustomResponseBody<Void> handleJWTVerificationException(RuntimeException e) {
     CustomResponseBody<Void> responseBody = new CustomResponseBody<>();
     responseBody.setStatus(FailureResponseStatus.ERROR);
     responseBody.setCode(HttpStatus.UNAUTHORIZED);
@@ -108,6 +113,32 @@ public class ApplicationControllerAdvice {
     return responseBody;
   }
 
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<CustomResponseBody<Void>> handleServiceOverloadedException(ServiceOverloadedException e) {
+    CustomResponseBody<Void> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(FailureResponseStatus.ERROR);
+    responseBody.setCode(HttpStatus.SERVICE_UNAVAILABLE);
+    responseBody.setMessage(e.getMessage());
+    responseBody.setData(null);
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+      .body(responseBody);
+  }
+
+  @ExceptionHandler(LoginLockedException.class)
+  public ResponseEntity<CustomResponseBody<Void>> handleLoginLockedException(LoginLockedException e) {
+    CustomResponseBody<Void> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(FailureResponseStatus.ERROR);
+    responseBody.setCode(HttpStatus.TOO_MANY_REQUESTS);
+    responseBody.setMessage(e.getMessage());
+    responseBody.setData(null);
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+      .body(responseBody);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
   public CustomResponseBody<List<CustomValidationErrors>> handleMethodArgumentNotValidException(
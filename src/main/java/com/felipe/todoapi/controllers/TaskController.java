@@ -1,71 +1,111 @@
 package com.felipe.todoapi.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.dtos.TaskBatchItemResultDTO;
+import com.felipe.todoapi.dtos.TaskBatchUpdateDTO;
+import com.felipe.todoapi.dtos.TaskBulkResultDTO;
+import com.felipe.todoapi.dtos.TaskBulkUpdateDTO;
 import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskPageResponseDTO;
 import com.felipe.todoapi.dtos.TaskResponseDTO;
 import com.felipe.todoapi.dtos.TaskUpdateDTO;
 import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.infra.cache.TaskListCache;
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import com.felipe.todoapi.services.AuthorizationService;
 import com.felipe.todoapi.services.TaskService;
 import com.felipe.todoapi.utils.CustomResponseBody;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Validated
 @RestController
 @RequestMapping("/api")
 public class TaskController {
 
+  public static final int MAX_BATCH_SIZE = 1000;
+
   private final TaskService taskService;
+  private final TaskListCache taskListCache;
+  private final ObjectMapper objectMapper;
 
-  public TaskController(TaskService taskService) {
+  public TaskController(TaskService taskService, TaskListCache taskListCache, ObjectMapper objectMapper) {
     this.taskService = taskService;
+    this.taskListCache = taskListCache;
+    this.objectMapper = objectMapper;
   }
 
   @GetMapping("/task")
-  @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<TaskResponseDTO>> getAllUserTasks(
+  public ResponseEntity<byte[]> getAllUserTasks(
     @RequestParam(defaultValue = "createdat", name = "field")
     @Pattern(regexp = "title|priority|createdat|updatedat", message = "Os parâmetros aceitos são: title, priority, createdat, updatedat")
     String field,
     @RequestParam(defaultValue = "asc", name = "order")
     @Pattern(regexp = "asc|desc", message = "Os parâmetros aceitos são: asc, desc")
-    String order
-  ) {
-    List<TaskResponseDTO> tasks = this.taskService.getAllUserTasks(field, order);
+    String order,
+    @RequestParam(required = false, name = "cursor")
+    String cursor,
+    @RequestParam(defaultValue = "20", name = "size")
+    @Min(value = 1, message = "O tamanho da página deve ser no mínimo 1")
+    @Max(value = 100, message = "O tamanho da página deve ser no máximo 100")
+    int size
+  ) throws JsonProcessingException {
+    String variant = cursor == null ? "all|" + field + "|" + order + "|" + size : null;
 
-    CustomResponseBody<List<TaskResponseDTO>> responseBody = new CustomResponseBody<>();
-    responseBody.setStatus(FailureResponseStatus.SUCCESS);
-    responseBody.setCode(HttpStatus.OK);
-    responseBody.setMessage("Todas as tarefas do usuário");
-    responseBody.setData(tasks);
+    return this.cachedPage(variant, () -> {
+      TaskPageResponseDTO tasks = this.taskService.getAllUserTasks(field, order, cursor, size);
 
-    return responseBody;
+      CustomResponseBody<TaskPageResponseDTO> responseBody = new CustomResponseBody<>();
+      responseBody.setStatus(FailureResponseStatus.SUCCESS);
+      responseBody.setCode(HttpStatus.OK);
+      responseBody.setMessage("Todas as tarefas do usuário");
+      responseBody.setData(tasks);
+
+      return responseBody;
+    });
   }
 
   @GetMapping("/task/done")
-  @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<List<TaskResponseDTO>> getAllDoneOrNotDoneTasks(
+  public ResponseEntity<byte[]> getAllDoneOrNotDoneTasks(
     @RequestParam(defaultValue = "true", name = "status")
     @Pattern(regexp = "true|false", message = "Os parâmetros aceitos são: true, false")
-    String status
-  ) {
-    List<TaskResponseDTO> tasks = this.taskService.getAllDoneOrNotDoneTasks(status);
+    String status,
+    @RequestParam(required = false, name = "cursor")
+    String cursor,
+    @RequestParam(defaultValue = "20", name = "size")
+    @Min(value = 1, message = "O tamanho da página deve ser no mínimo 1")
+    @Max(value = 100, message = "O tamanho da página deve ser no máximo 100")
+    int size
+  ) throws JsonProcessingException {
+    String variant = cursor == null ? "done|" + status + "|" + size : null;
 
-    String message = status.equals("true") ? "Tarefas marcadas como feitas" : "Tarefas marcadas como não feitas";
+    return this.cachedPage(variant, () -> {
+      TaskPageResponseDTO tasks = this.taskService.getAllDoneOrNotDoneTasks(status, cursor, size);
 
-    CustomResponseBody<List<TaskResponseDTO>> responseBody = new CustomResponseBody<>();
-    responseBody.setStatus(FailureResponseStatus.SUCCESS);
-    responseBody.setCode(HttpStatus.OK);
-    responseBody.setMessage(message);
-    responseBody.setData(tasks);
+      String message = status.equals("true") ? "Tarefas marcadas como feitas" : "Tarefas marcadas como não feitas";
 
-    return responseBody;
+      CustomResponseBody<TaskPageResponseDTO> responseBody = new CustomResponseBody<>();
+      responseBody.setStatus(FailureResponseStatus.SUCCESS);
+      responseBody.setCode(HttpStatus.OK);
+      responseBody.setMessage(message);
+      responseBody.setData(tasks);
+
+      return responseBody;
+    });
   }
 
   @PostMapping("/task")
@@ -82,6 +122,23 @@ public class TaskController {
     return responseBody;
   }
 
+  @PostMapping("/task/batch")
+  public ResponseEntity<CustomResponseBody<List<TaskBatchItemResultDTO>>> createBatch(
+    @RequestBody
+    @NotNull
+    @Size(min = 1, max = MAX_BATCH_SIZE, message = "O lote deve conter entre 1 e " + MAX_BATCH_SIZE + " tarefas")
+    List<TaskCreateDTO> tasks
+  ) {
+    List<TaskBatchItemResultDTO> results = this.taskService.createBatch(tasks);
+
+    return this.batchResponse(
+      results,
+      HttpStatus.CREATED,
+      "Tarefas criadas com sucesso",
+      "Nem todas as tarefas puderam ser criadas"
+    );
+  }
+
   @GetMapping("/task/{id}")
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<TaskResponseDTO> findById(@PathVariable @NotNull @NotBlank String id) {
@@ -113,6 +170,45 @@ public class TaskController {
     return responseBody;
   }
 
+  @PatchMapping("/task/batch")
+  public ResponseEntity<CustomResponseBody<List<TaskBatchItemResultDTO>>> updateBatch(
+    @RequestBody
+    @NotNull
+    @Size(min = 1, max = MAX_BATCH_SIZE, message = "O lote deve conter entre 1 e " + MAX_BATCH_SIZE + " tarefas")
+    List<TaskBatchUpdateDTO> tasks
+  ) {
+    List<TaskBatchItemResultDTO> results = this.taskService.updateBatch(tasks);
+
+    return this.batchResponse(
+      results,
+      HttpStatus.OK,
+      "Tarefas atualizadas com sucesso",
+      "Nem todas as tarefas puderam ser atualizadas"
+    );
+  }
+
+  @PatchMapping("/task/bulk")
+  @ResponseStatus(HttpStatus.OK)
+  public CustomResponseBody<TaskBulkResultDTO> updateMatching(
+    @RequestParam(required = false, name = "status")
+    @Pattern(regexp = "true|false", message = "Os parâmetros aceitos são: true, false")
+    String status,
+    @RequestParam(required = false, name = "priority")
+    @Pattern(regexp = "baixa|media|alta", message = "Os parâmetros aceitos são: baixa, media, alta")
+    String priority,
+    @RequestBody @Valid @NotNull TaskBulkUpdateDTO changes
+  ) {
+    TaskBulkResultDTO result = this.taskService.updateMatching(status, priority, changes);
+
+    CustomResponseBody<TaskBulkResultDTO> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(FailureResponseStatus.SUCCESS);
+    responseBody.setCode(HttpStatus.OK);
+    responseBody.setMessage("Tarefas atualizadas com sucesso");
+    responseBody.setData(result);
+
+    return responseBody;
+  }
+
   @DeleteMapping("/task/{id}")
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<Void> delete(@PathVariable @NotNull @NotBlank String id) {
@@ -124,4 +220,78 @@ public class TaskController {
       null
     );
   }
+
+  @DeleteMapping("/task/bulk")
+  @ResponseStatus(HttpStatus.OK)
+  public CustomResponseBody<TaskBulkResultDTO> deleteMatching(
+    @RequestParam(defaultValue = "true", name = "status")
+    @Pattern(regexp = "true|false", message = "Os parâmetros aceitos são: true, false")
+    String status,
+    @RequestParam(required = false, name = "priority")
+    @Pattern(regexp = "baixa|media|alta", message = "Os parâmetros aceitos são: baixa, media, alta")
+    String priority
+  ) {
+    TaskBulkResultDTO result = this.taskService.deleteMatching(status, priority);
+
+    CustomResponseBody<TaskBulkResultDTO> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(FailureResponseStatus.SUCCESS);
+    responseBody.setCode(HttpStatus.OK);
+    responseBody.setMessage("Tarefas excluídas com sucesso");
+    responseBody.setData(result);
+
+    return responseBody;
+  }
+
+  // First pages are kept in TaskListCache as the bytes Jackson produced, so a hit skips the query, the mapping
+  // and the serialization. Pages reached through a cursor always go to the service
+  private ResponseEntity<byte[]> cachedPage(
+    String variant,
+    Supplier<CustomResponseBody<TaskPageResponseDTO>> loader
+  ) throws JsonProcessingException {
+    String userId = variant != null ? this.authenticatedUserId() : null;
+
+    if(userId == null) {
+      return this.json(this.objectMapper.writeValueAsBytes(loader.get()));
+    }
+
+    byte[] cached = this.taskListCache.get(userId, variant);
+    if(cached != null) {
+      return this.json(cached);
+    }
+
+    long stamp = this.taskListCache.stamp(userId);
+    byte[] body = this.objectMapper.writeValueAsBytes(loader.get());
+    this.taskListCache.put(userId, variant, stamp, body);
+
+    return this.json(body);
+  }
+
+  // 201/200 when every item succeeded, otherwise 207 and each item carries its own status
+  private ResponseEntity<CustomResponseBody<List<TaskBatchItemResultDTO>>> batchResponse(
+    List<TaskBatchItemResultDTO> results,
+    HttpStatus success,
+    String successMessage,
+    String partialMessage
+  ) {
+    long succeeded = results.stream().filter(result -> result.code() == success.value()).count();
+    boolean allSucceeded = succeeded == results.size();
+    HttpStatus status = allSucceeded ? success : HttpStatus.MULTI_STATUS;
+
+    CustomResponseBody<List<TaskBatchItemResultDTO>> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(succeeded > 0 ? FailureResponseStatus.SUCCESS : FailureResponseStatus.ERROR);
+    responseBody.setCode(status);
+    responseBody.setMessage(allSucceeded ? successMessage : partialMessage);
+    responseBody.setData(results);
+
+    return ResponseEntity.status(status).body(responseBody);
+  }
+
+  private ResponseEntity<byte[]> json(byte[] body) {
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  private String authenticatedUserId() {
+    UserSpringSecurity user = AuthorizationService.getAuthentication();
+    return user != null ? user.getId() : null;
+  }
 }
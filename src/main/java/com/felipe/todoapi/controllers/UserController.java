@@ -2,11 +2,14 @@ package com.felipe.todoapi.controllers;
 
 import com.felipe.todoapi.dtos.LoginDTO;
 import com.felipe.todoapi.dtos.LoginResponseDTO;
+import com.felipe.todoapi.dtos.RefreshTokenDTO;
+import com.felipe.todoapi.dtos.TokenResponseDTO;
 import com.felipe.todoapi.dtos.UserRegisterDTO;
 import com.felipe.todoapi.dtos.UserResponseDTO;
 import com.felipe.todoapi.enums.FailureResponseStatus;
 import com.felipe.todoapi.services.UserService;
 import com.felipe.todoapi.utils.CustomResponseBody;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -39,8 +42,8 @@ public class UserController {
 
   @PostMapping("/auth/login")
   @ResponseStatus(HttpStatus.OK)
-  public CustomResponseBody<LoginResponseDTO> login(@RequestBody @Valid @NotNull LoginDTO login) {
-    LoginResponseDTO loginDTO = this.userService.login(login);
+  public CustomResponseBody<LoginResponseDTO> login(@RequestBody @Valid @NotNull LoginDTO login, HttpServletRequest request) {
+    LoginResponseDTO loginDTO = this.userService.login(login, request.getRemoteAddr());
 
     CustomResponseBody<LoginResponseDTO> responseBody = new CustomResponseBody<>();
     responseBody.setStatus(FailureResponseStatus.SUCCESS);
@@ -51,6 +54,32 @@ public class UserController {
     return responseBody;
   }
 
+  @PostMapping("/auth/refresh")
+  @ResponseStatus(HttpStatus.OK)
+  public CustomResponseBody<TokenResponseDTO> refresh(@RequestBody @Valid @NotNull RefreshTokenDTO refresh) {
+    TokenResponseDTO tokens = this.userService.refresh(refresh);
+
+    CustomResponseBody<TokenResponseDTO> responseBody = new CustomResponseBody<>();
+    responseBody.setStatus(FailureResponseStatus.SUCCESS);
+    responseBody.setCode(HttpStatus.OK);
+    responseBody.setMessage("Token renovado com sucesso");
+    responseBody.setData(tokens);
+
+    return responseBody;
+  }
+
+  @PostMapping("/auth/logout")
+  @ResponseStatus(HttpStatus.OK)
+  public CustomResponseBody<Void> logout(@RequestBody(required = false) @Valid RefreshTokenDTO refresh) {
+    this.userService.logout(refresh);
+    return new CustomResponseBody<>(
+      FailureResponseStatus.SUCCESS,
+      HttpStatus.OK,
+      "Sessão encerrada com sucesso",
+      null
+    );
+  }
+
   @GetMapping("/profile/{id}")
   @ResponseStatus(HttpStatus.OK)
   public CustomResponseBody<UserResponseDTO> profile(@PathVariable @NotNull @NotBlank String id) {
@@ -4,5 +4,6 @@ public record LoginResponseDTO(
   String id,
   String name,
   String email,
-  String token
+  String token,
+  String refreshToken
 ) {}
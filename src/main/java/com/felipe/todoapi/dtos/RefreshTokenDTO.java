@@ -0,0 +1,10 @@
+package com.felipe.todoapi.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record RefreshTokenDTO(
+  @NotNull(message = "O refresh token é obrigatório")
+  @NotBlank(message = "O refresh token não deve estar em branco")
+  String refreshToken
+) {}
@@ -0,0 +1,25 @@
+package com.felipe.todoapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.felipe.todoapi.utils.CustomValidationErrors;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+// Outcome of one item of a batch request: its position in the request, the status it would have had as a
+// single request, and either the resulting task or what was wrong with it
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskBatchItemResultDTO(
+  int index,
+  int code,
+  TaskResponseDTO task,
+  List<CustomValidationErrors> errors
+) {
+  public static TaskBatchItemResultDTO success(int index, HttpStatus code, TaskResponseDTO task) {
+    return new TaskBatchItemResultDTO(index, code.value(), task, null);
+  }
+
+  public static TaskBatchItemResultDTO failure(int index, HttpStatus code, List<CustomValidationErrors> errors) {
+    return new TaskBatchItemResultDTO(index, code.value(), null, errors);
+  }
+}
@@ -0,0 +1,15 @@
+package com.felipe.todoapi.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record TaskBatchUpdateDTO(
+  @NotNull(message = "O id da tarefa é obrigatório")
+  @NotBlank(message = "O id da tarefa não pode estar em branco")
+  String id,
+
+  @NotNull(message = "As alterações da tarefa são obrigatórias")
+  @Valid
+  TaskUpdateDTO task
+) {}
@@ -0,0 +1,3 @@
+package com.felipe.todoapi.dtos;
+
+public record TaskBulkResultDTO(int affected) {}
@@ -0,0 +1,20 @@
+package com.felipe.todoapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.enums.validation.ValueOfPriorityLevel;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.AssertTrue;
+
+public record TaskBulkUpdateDTO(
+  @Nullable @ValueOfPriorityLevel(enumClass = PriorityLevel.class) String priority,
+  @Nullable Boolean isDone
+) {
+
+  // An empty change set would report affected=0 just like a filter that matched nothing
+  @JsonIgnore
+  @AssertTrue(message = "Informe ao menos um campo para alterar: priority ou isDone")
+  public boolean isAnyChange() {
+    return this.priority != null || this.isDone != null;
+  }
+}
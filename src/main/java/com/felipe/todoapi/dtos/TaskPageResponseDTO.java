@@ -0,0 +1,8 @@
+package com.felipe.todoapi.dtos;
+
+import java.util.List;
+
+public record TaskPageResponseDTO(
+  List<TaskResponseDTO> tasks,
+  String nextCursor
+) {}
@@ -1,5 +1,7 @@
 package com.felipe.todoapi.dtos;
 
+import com.felipe.todoapi.enums.PriorityLevel;
+
 import java.time.LocalDateTime;
 
 public record TaskResponseDTO(
@@ -10,4 +12,16 @@ public record TaskResponseDTO(
   Boolean isDone,
   LocalDateTime createdAt,
   LocalDateTime updatedAt
-) {}
+) {
+  public TaskResponseDTO(
+    String id,
+    String title,
+    String description,
+    PriorityLevel priority,
+    Boolean isDone,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+  ) {
+    this(id, title, description, priority.getValue(), isDone, createdAt, updatedAt);
+  }
+}
@@ -0,0 +1,6 @@
+package com.felipe.todoapi.dtos;
+
+public record TokenResponseDTO(
+  String token,
+  String refreshToken
+) {}
@@ -0,0 +1,14 @@
+package com.felipe.todoapi.exceptions;
+
+// Thrown for every rejected access token. Carries no stack trace, no cause and no suppressed exceptions, so one
+// shared instance serves all requests: under a flood of stale or forged tokens, rejection costs no allocation.
+// JWTVerificationException has no constructor that disables suppression, hence the plain RuntimeException
+public class InvalidTokenException extends RuntimeException {
+
+  public static final String MESSAGE = "O Token de acesso fornecido expirou, foi revogado ou é inválido";
+  public static final InvalidTokenException INSTANCE = new InvalidTokenException();
+
+  private InvalidTokenException() {
+    super(MESSAGE, null, false, false);
+  }
+}
@@ -0,0 +1,15 @@
+package com.felipe.todoapi.exceptions;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public ServiceOverloadedException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return this.retryAfterSeconds;
+  }
+}
@@ -0,0 +1,72 @@
+package com.felipe.todoapi.infra.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level cache for User, kept in a local Caffeine cache behind JCache. Regions are created here with
+// explicit sizes and TTLs, and Hibernate is told to fail on any region it was not given instead of silently creating
+// an unbounded one. Task is not cached: its writes are bulk statements, and each one evicts the whole entity region
+@Configuration
+public class EntityCacheConfiguration {
+
+  public static final String USER_REGION = "user";
+
+  @Bean(destroyMethod = "close")
+  public CacheManager entityCacheManager(
+    @Value("${api.cache.user.max-size:10000}") long userMaxSize,
+    @Value("${api.cache.user.ttl:10m}") Duration userTtl
+  ) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    // A URI of its own so each application context gets a separate manager rather than the provider's shared default
+    CacheManager cacheManager = provider.getCacheManager(
+      URI.create("todo-api-entities-" + UUID.randomUUID()),
+      EntityCacheConfiguration.class.getClassLoader()
+    );
+
+    cacheManager.createCache(USER_REGION, region(userMaxSize, userTtl));
+
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+    return properties -> {
+      properties.put("hibernate.cache.use_second_level_cache", true);
+      properties.put("hibernate.cache.region.factory_class", "jcache");
+      properties.put("hibernate.javax.cache.cache_manager", entityCacheManager);
+      properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+    };
+  }
+
+  @Bean
+  public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+    return registry -> bindRegion(registry, entityCacheManager, USER_REGION);
+  }
+
+  private static void bindRegion(MeterRegistry registry, CacheManager cacheManager, String region) {
+    JCacheMetrics.monitor(registry, cacheManager.getCache(region), "region", region);
+  }
+
+  private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    configuration.setStatisticsEnabled(true);
+    return configuration;
+  }
+}
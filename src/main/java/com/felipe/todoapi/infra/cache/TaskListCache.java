@@ -0,0 +1,216 @@
+package com.felipe.todoapi.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Serialized task list responses per user, one slot per request variant (endpoint, sort, page size). Every task
+// write for the user invalidates all of them. A reader takes a stamp before querying and can only store its
+// response if no invalidation happened since, so a slow read never caches a list older than the last write
+@Component
+public class TaskListCache implements MeterBinder {
+
+  private final long maxBytes;
+  private final int maxUsers;
+  private final int maxVariantsPerUser;
+  private final long ttlNanos;
+  private final Map<String, UserEntry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong versions = new AtomicLong();
+  private final AtomicLong footprint = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public TaskListCache(
+    @Value("${api.cache.task-list.max-bytes:67108864}") long maxBytes,
+    @Value("${api.cache.task-list.max-users:10000}") int maxUsers,
+    @Value("${api.cache.task-list.max-variants-per-user:8}") int maxVariantsPerUser,
+    @Value("${api.cache.task-list.ttl:5m}") Duration ttl
+  ) {
+    if(maxBytes <= 0 || maxUsers <= 0 || maxVariantsPerUser <= 0) {
+      throw new IllegalArgumentException("Os limites do cache de tarefas devem ser maiores que zero");
+    }
+    this.maxBytes = maxBytes;
+    this.maxUsers = maxUsers;
+    this.maxVariantsPerUser = maxVariantsPerUser;
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public byte[] get(String userId, String variant) {
+    UserEntry entry = this.entries.get(userId);
+
+    if(entry != null) {
+      Response response = entry.responses.get(variant);
+      if(response != null && response.expiresAt() - System.nanoTime() > 0) {
+        this.hits.increment();
+        return response.body();
+      }
+      if(response != null) {
+        this.expire(entry, variant, response);
+      }
+    }
+
+    this.misses.increment();
+    return null;
+  }
+
+  public long stamp(String userId) {
+    if(this.entries.size() >= this.maxUsers && !this.entries.containsKey(userId)) {
+      this.evict();
+    }
+    return this.entries.computeIfAbsent(userId, key -> new UserEntry(this.versions.incrementAndGet())).version;
+  }
+
+  public void put(String userId, String variant, long stamp, byte[] body) {
+    UserEntry entry = this.entries.get(userId);
+
+    if(entry == null) {
+      return;
+    }
+
+    synchronized(entry) {
+      if(entry.version != stamp) {
+        return;
+      }
+      if(entry.responses.size() >= this.maxVariantsPerUser && !entry.responses.containsKey(variant)) {
+        return;
+      }
+
+      Response previous = entry.responses.put(variant, new Response(body, System.nanoTime() + this.ttlNanos));
+      this.footprint.addAndGet(body.length - (previous != null ? previous.body().length : 0));
+    }
+
+    if(this.footprint.get() > this.maxBytes) {
+      this.evict();
+    }
+  }
+
+  public void invalidate(String userId) {
+    UserEntry entry = this.entries.get(userId);
+
+    if(entry != null) {
+      this.retire(entry);
+    }
+  }
+
+  // Inside a transaction the invalidation waits for the commit: done earlier, a reader could stamp and cache the
+  // rows the transaction is about to change. Without a transaction it happens right away
+  public void invalidateAfterCommit(String userId) {
+    if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+      this.invalidate(userId);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        TaskListCache.this.invalidate(userId);
+      }
+    });
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  public long getFootprint() {
+    return this.footprint.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", this.hits, LongAdder::sum)
+      .tags("cache", "task-list", "result", "hit")
+      .register(registry);
+    FunctionCounter.builder("cache.gets", this.misses, LongAdder::sum)
+      .tags("cache", "task-list", "result", "miss")
+      .register(registry);
+    FunctionCounter.builder("cache.evictions", this.evictions, LongAdder::sum)
+      .tags("cache", "task-list")
+      .register(registry);
+    Gauge.builder("cache.size", this.entries, Map::size)
+      .tags("cache", "task-list")
+      .register(registry);
+    Gauge.builder("cache.footprint", this.footprint, AtomicLong::get)
+      .tags("cache", "task-list")
+      .description("Bytes of serialized responses held by the cache")
+      .baseUnit("bytes")
+      .register(registry);
+  }
+
+  // Expired responses go first, since nothing may ever read them again. Then whole users are dropped, in map order,
+  // until both the byte budget and the user limit are met again
+  private void evict() {
+    if(this.footprint.get() > this.maxBytes) {
+      long now = System.nanoTime();
+
+      for(UserEntry entry : this.entries.values()) {
+        entry.responses.forEach((variant, response) -> {
+          if(response.expiresAt() - now <= 0) {
+            this.expire(entry, variant, response);
+          }
+        });
+      }
+    }
+
+    Iterator<UserEntry> iterator = this.entries.values().iterator();
+
+    while((this.footprint.get() > this.maxBytes || this.entries.size() >= this.maxUsers) && iterator.hasNext()) {
+      UserEntry entry = iterator.next();
+      iterator.remove();
+      this.retire(entry);
+      this.evictions.increment();
+    }
+  }
+
+  // Removes the response only if no put replaced it meanwhile, and gives its bytes back to the budget
+  private void expire(UserEntry entry, String variant, Response response) {
+    synchronized(entry) {
+      if(entry.responses.remove(variant, response)) {
+        this.footprint.addAndGet(-response.body().length);
+      }
+    }
+  }
+
+  // A new version turns away puts still holding a stamp for this entry, even if it was already removed from the map
+  private void retire(UserEntry entry) {
+    synchronized(entry) {
+      entry.version = this.versions.incrementAndGet();
+
+      long released = 0;
+      for(Response response : entry.responses.values()) {
+        released += response.body().length;
+      }
+      entry.responses.clear();
+      this.footprint.addAndGet(-released);
+    }
+  }
+
+  private static final class UserEntry {
+    private final Map<String, Response> responses = new ConcurrentHashMap<>();
+    private volatile long version;
+
+    private UserEntry(long version) {
+      this.version = version;
+    }
+  }
+
+  private record Response(byte[] body, long expiresAt) {}
+}
@@ -0,0 +1,48 @@
+package com.felipe.todoapi.infra.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+// UUID version 7 (RFC 9562): 48 bits of Unix milliseconds, then 74 random bits. Keys created close in time
+// land next to each other in the primary key index instead of on a random leaf. The API tells "not yours" (403)
+// from "missing" (404), so the random bits must not be predictable from other ids: each thread draws them from
+// its own DRBG SecureRandom, which unlike the default NativePRNG shares no lock between instances
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+  private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(() -> {
+    try {
+      return SecureRandom.getInstance("DRBG");
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+    return next().toString();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+
+  public static UUID next() {
+    return next(System.currentTimeMillis());
+  }
+
+  static UUID next(long epochMillis) {
+    SecureRandom random = RANDOM.get();
+    long mostSigBits = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
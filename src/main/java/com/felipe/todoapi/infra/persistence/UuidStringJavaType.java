@@ -0,0 +1,39 @@
+package com.felipe.todoapi.infra.persistence;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+import java.util.UUID;
+
+// Keeps identifiers as String in the entities and the API while binding them to a native uuid column.
+// Use together with @JdbcTypeCode(SqlTypes.UUID)
+public class UuidStringJavaType extends StringJavaType {
+
+  // Nothing is ever stored under the nil UUID, so a malformed id from a path variable just matches no row
+  private static final UUID NO_MATCH = new UUID(0L, 0L);
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+    if(value != null && UUID.class.isAssignableFrom(type)) {
+      return (X) this.toUuid(value);
+    }
+    return super.unwrap(value, type, options);
+  }
+
+  @Override
+  public <X> String wrap(X value, WrapperOptions options) {
+    if(value instanceof UUID uuid) {
+      return uuid.toString();
+    }
+    return super.wrap(value, options);
+  }
+
+  private UUID toUuid(String value) {
+    try {
+      return UUID.fromString(value);
+    } catch(IllegalArgumentException e) {
+      return NO_MATCH;
+    }
+  }
+}
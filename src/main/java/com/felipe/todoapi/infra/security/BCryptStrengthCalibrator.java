@@ -0,0 +1,41 @@
+package com.felipe.todoapi.infra.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+public final class BCryptStrengthCalibrator {
+
+  private static final String SAMPLE = "calibration-sample";
+  private static final int SAMPLES = 3;
+
+  private BCryptStrengthCalibrator() {}
+
+  // Highest strength in [min, max] whose hash still fits the target on this machine; never below min.
+  // Each step doubles the work, so the probe stops as soon as one strength overshoots
+  public static int calibrate(Duration target, int minStrength, int maxStrength) {
+    int chosen = minStrength;
+
+    for(int strength = minStrength; strength <= maxStrength; strength++) {
+      if(measure(strength) > target.toNanos()) {
+        break;
+      }
+      chosen = strength;
+    }
+
+    return chosen;
+  }
+
+  private static long measure(int strength) {
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+    long best = Long.MAX_VALUE;
+
+    for(int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+
+    return best;
+  }
+}
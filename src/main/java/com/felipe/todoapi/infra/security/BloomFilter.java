@@ -0,0 +1,80 @@
+package com.felipe.todoapi.infra.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free Bloom filter over strings. Lookups hash the characters in place (FNV-1a plus a mixed second
+// hash for double hashing), so mightContain allocates nothing. Can answer "maybe" for absent keys, never
+// "no" for present ones
+public final class BloomFilter {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  private BloomFilter(long bitCount, int hashCount) {
+    this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+    this.bitCount = this.bits.length() * 64L;
+    this.hashCount = hashCount;
+  }
+
+  public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+    int n = Math.max(1, expectedInsertions);
+    long bitCount = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+
+    return new BloomFilter(Math.max(64, bitCount), hashCount);
+  }
+
+  public void put(String key) {
+    long h1 = fnv1a(key);
+    long h2 = mix(h1) | 1;
+
+    for(int i = 0; i < this.hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, this.bitCount);
+      int index = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+
+      do {
+        current = this.bits.get(index);
+        if((current & mask) != 0) {
+          break;
+        }
+      } while(!this.bits.compareAndSet(index, current, current | mask));
+    }
+  }
+
+  public boolean mightContain(String key) {
+    long h1 = fnv1a(key);
+    long h2 = mix(h1) | 1;
+
+    for(int i = 0; i < this.hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, this.bitCount);
+
+      if((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long fnv1a(String key) {
+    long hash = FNV_OFFSET;
+
+    for(int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  // Stafford variant 13 finalizer, derives an independent-looking second hash from the first
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+}
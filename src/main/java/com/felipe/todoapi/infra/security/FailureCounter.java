@@ -0,0 +1,108 @@
+package com.felipe.todoapi.infra.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Failed login attempts per key, decaying with a half-life so old failures fade out instead of resetting at a
+// window edge. From `threshold` failures on, the key is locked for baseDelay * 2^(failures - threshold), capped at
+// maxDelay. Every attempt is charged as a failure up front and refunded when it turns out not to be one, so a burst
+// of parallel attempts cannot all pass the check before the first failure lands. Updates go through
+// ConcurrentHashMap.compute, which only serializes writers of the same key
+final class FailureCounter {
+
+  private final int threshold;
+  private final long baseDelayNanos;
+  private final long maxDelayNanos;
+  private final double halfLifeNanos;
+  private final int maxKeys;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  FailureCounter(int threshold, Duration baseDelay, Duration maxDelay, Duration halfLife, int maxKeys) {
+    if(threshold <= 0 || maxKeys <= 0) {
+      throw new IllegalArgumentException("Limite de tentativas de login inválido");
+    }
+    this.threshold = threshold;
+    this.baseDelayNanos = baseDelay.toNanos();
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.halfLifeNanos = halfLife.toNanos();
+    this.maxKeys = maxKeys;
+  }
+
+  // Nanos left on the key's lock, 0 when it may try again
+  long lockedFor(String key, long now) {
+    Entry entry = this.entries.get(key);
+    return entry != null ? Math.max(0, entry.lockedUntil() - now) : 0;
+  }
+
+  // Charges one failure unless the key is locked. Returns the nanos left on the lock, 0 when the attempt may proceed
+  long acquire(String key, long now) {
+    if(this.entries.size() >= this.maxKeys && !this.entries.containsKey(key)) {
+      this.evict(now);
+    }
+
+    long[] lockedFor = new long[1];
+    this.entries.compute(key, (k, entry) -> {
+      if(entry != null && entry.lockedUntil() - now > 0) {
+        lockedFor[0] = entry.lockedUntil() - now;
+        return entry;
+      }
+
+      double failures = (entry != null ? this.decayed(entry, now) : 0) + 1;
+      // Rounded so that failures a few milliseconds apart still add up to whole attempts
+      long attempts = Math.round(failures);
+      long lockedUntil = attempts >= this.threshold ? now + this.delay(attempts) : 0;
+      return new Entry(failures, now, lockedUntil);
+    });
+    return lockedFor[0];
+  }
+
+  // Takes back the failure charged by acquire. The lock stays only if the remaining failures still reach it
+  void refund(String key, long now) {
+    this.entries.computeIfPresent(key, (k, entry) -> {
+      double failures = Math.max(0, this.decayed(entry, now) - 1);
+      long lockedUntil = Math.round(failures) >= this.threshold ? entry.lockedUntil() : 0;
+      return new Entry(failures, now, lockedUntil);
+    });
+  }
+
+  void reset(String key) {
+    this.entries.remove(key);
+  }
+
+  int size() {
+    return this.entries.size();
+  }
+
+  // Drops keys that are unlocked and whose failures have decayed below one
+  void sweep(long now) {
+    this.entries.values().removeIf(entry -> this.isForgotten(entry, now));
+  }
+
+  private void evict(long now) {
+    this.sweep(now);
+
+    Iterator<Entry> iterator = this.entries.values().iterator();
+    while(this.entries.size() >= this.maxKeys && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private boolean isForgotten(Entry entry, long now) {
+    return entry.lockedUntil() - now <= 0 && this.decayed(entry, now) < 1;
+  }
+
+  private double decayed(Entry entry, long now) {
+    return entry.failures() * Math.pow(0.5, (now - entry.updatedAt()) / this.halfLifeNanos);
+  }
+
+  private long delay(long attempts) {
+    int doublings = (int) Math.min(62, attempts - this.threshold);
+    long delay = this.baseDelayNanos << doublings;
+    return delay <= 0 || delay > this.maxDelayNanos ? this.maxDelayNanos : delay;
+  }
+
+  private record Entry(double failures, long updatedAt, long lockedUntil) {}
+}
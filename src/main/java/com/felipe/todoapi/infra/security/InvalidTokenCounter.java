@@ -0,0 +1,105 @@
+package com.felipe.todoapi.infra.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts rejected access tokens per client address over a window that is reset on a schedule. The map is
+// capped: once max-tracked-addresses is reached, new addresses only count towards the total. When a window
+// closes, its top-offenders addresses are published as the auth.token.rejected.top gauge, tagged by address,
+// so a flooding client can be identified without exporting one meter per address ever seen
+@Component
+public class InvalidTokenCounter implements MeterBinder {
+
+  private final int maxTrackedAddresses;
+  private final int topOffenders;
+  private final LongAdder total = new LongAdder();
+  private final LongAdder untracked = new LongAdder();
+  private volatile Map<String, LongAdder> countsByAddress = new ConcurrentHashMap<>();
+  private volatile List<Offender> lastWindowOffenders = List.of();
+  private volatile MultiGauge offendersGauge;
+
+  public InvalidTokenCounter(
+    @Value("${api.security.invalid-token.max-tracked-addresses:10000}") int maxTrackedAddresses,
+    @Value("${api.security.invalid-token.top-offenders:10}") int topOffenders
+  ) {
+    this.maxTrackedAddresses = maxTrackedAddresses;
+    this.topOffenders = topOffenders;
+  }
+
+  public void increment(String address) {
+    this.total.increment();
+
+    Map<String, LongAdder> counts = this.countsByAddress;
+    LongAdder counter = counts.get(address);
+
+    if(counter == null) {
+      if(counts.size() >= this.maxTrackedAddresses) {
+        this.untracked.increment();
+        return;
+      }
+      counter = counts.computeIfAbsent(address, key -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  // The addresses with the most rejections in the last closed window, highest first
+  public List<Offender> lastWindowOffenders() {
+    return this.lastWindowOffenders;
+  }
+
+  @Scheduled(fixedDelayString = "${api.security.invalid-token.window:PT1M}")
+  public void reset() {
+    Map<String, LongAdder> closed = this.countsByAddress;
+    this.countsByAddress = new ConcurrentHashMap<>();
+
+    List<Offender> offenders = closed.entrySet().stream()
+      .map(entry -> new Offender(entry.getKey(), entry.getValue().sum()))
+      .sorted(Comparator.comparingLong(Offender::count).reversed())
+      .limit(this.topOffenders)
+      .toList();
+    this.lastWindowOffenders = offenders;
+
+    MultiGauge gauge = this.offendersGauge;
+
+    if(gauge != null) {
+      List<MultiGauge.Row<?>> rows = offenders.stream()
+        .<MultiGauge.Row<?>>map(offender -> MultiGauge.Row.of(Tags.of("address", offender.address()), offender.count()))
+        .toList();
+      gauge.register(rows, true);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("auth.token.rejected", this.total, LongAdder::sum)
+      .description("Requests rejected for a malformed, expired or revoked access token")
+      .register(registry);
+
+    FunctionCounter.builder("auth.token.rejected.untracked", this.untracked, LongAdder::sum)
+      .description("Rejections not attributed to an address because the per-address map was full")
+      .register(registry);
+
+    Gauge.builder("auth.token.rejected.addresses", this, counter -> counter.countsByAddress.size())
+      .description("Client addresses with at least one rejected token in the current window")
+      .register(registry);
+
+    this.offendersGauge = MultiGauge.builder("auth.token.rejected.top")
+      .description("Rejected tokens of the addresses with the most rejections in the last closed window")
+      .register(registry);
+  }
+
+  public record Offender(String address, long count) {}
+}
@@ -0,0 +1,97 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.exceptions.LoginLockedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// Progressive lockout for password logins, tracked per e-mail and per client address. acquire runs before
+// AuthenticationManager.authenticate, so a blocked attempt costs two map lookups instead of a BCrypt verification.
+// It reserves the attempt as a failure; recordSuccess and release refund it
+@Component
+public class LoginThrottle implements MeterBinder {
+
+  private final FailureCounter emailFailures;
+  private final FailureCounter addressFailures;
+  private final LongAdder blocked = new LongAdder();
+
+  public LoginThrottle(
+    @Value("${api.security.login-throttle.email-threshold:5}") int emailThreshold,
+    @Value("${api.security.login-throttle.address-threshold:20}") int addressThreshold,
+    @Value("${api.security.login-throttle.base-delay:1s}") Duration baseDelay,
+    @Value("${api.security.login-throttle.max-delay:15m}") Duration maxDelay,
+    @Value("${api.security.login-throttle.half-life:15m}") Duration halfLife,
+    @Value("${api.security.login-throttle.max-keys:100000}") int maxKeys
+  ) {
+    this.emailFailures = new FailureCounter(emailThreshold, baseDelay, maxDelay, halfLife, maxKeys);
+    this.addressFailures = new FailureCounter(addressThreshold, baseDelay, maxDelay, halfLife, maxKeys);
+  }
+
+  public void acquire(String email, String address) throws LoginLockedException {
+    long now = System.nanoTime();
+    String key = normalize(email);
+    long lockedFor = this.emailFailures.acquire(key, now);
+
+    if(lockedFor == 0) {
+      lockedFor = this.addressFailures.acquire(address, now);
+
+      if(lockedFor > 0) {
+        this.emailFailures.refund(key, now);
+      }
+    }
+
+    if(lockedFor > 0) {
+      this.blocked.increment();
+      throw new LoginLockedException(
+        "Muitas tentativas de login, tente novamente mais tarde",
+        Math.max(1, Duration.ofNanos(lockedFor).toSeconds() + 1)
+      );
+    }
+  }
+
+  // The e-mail is cleared, but the address only gets its reservation back: a right password must not wipe the
+  // failures an address racked up on other accounts
+  public void recordSuccess(String email, String address) {
+    this.emailFailures.reset(normalize(email));
+    this.addressFailures.refund(address, System.nanoTime());
+  }
+
+  // For an attempt that ended without a verdict on the password, e.g. an overloaded hashing pool
+  public void release(String email, String address) {
+    long now = System.nanoTime();
+    this.emailFailures.refund(normalize(email), now);
+    this.addressFailures.refund(address, now);
+  }
+
+  @Scheduled(fixedDelayString = "${api.security.login-throttle.sweep-interval:PT1M}")
+  public void sweep() {
+    long now = System.nanoTime();
+    this.emailFailures.sweep(now);
+    this.addressFailures.sweep(now);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("auth.login.blocked", this.blocked, LongAdder::sum)
+      .description("Login attempts rejected by the lockout before any password verification")
+      .register(registry);
+    Gauge.builder("auth.login.throttle.keys", this.emailFailures, FailureCounter::size)
+      .tags("key", "email")
+      .register(registry);
+    Gauge.builder("auth.login.throttle.keys", this.addressFailures, FailureCounter::size)
+      .tags("key", "address")
+      .register(registry);
+  }
+
+  private static String normalize(String email) {
+    return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,128 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a pool sized to the CPU count, so a login storm cannot pin every request thread.
+// Once the bounded queue is full, callers fail fast with ServiceOverloadedException instead of piling up
+@Component
+public class PasswordHashingExecutor implements MeterBinder, DisposableBean {
+
+  private final ThreadPoolExecutor executor;
+  private final long retryAfterSeconds;
+
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+
+  public PasswordHashingExecutor(
+    @Value("${api.security.hashing.threads:0}") int threads,
+    @Value("${api.security.hashing.queue-capacity:64}") int queueCapacity,
+    @Value("${api.security.hashing.retry-after-seconds:1}") long retryAfterSeconds
+  ) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+
+    this.executor = new ThreadPoolExecutor(
+      poolSize,
+      poolSize,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity),
+      runnable -> {
+        Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      },
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public <T> T execute(Supplier<T> task) throws ServiceOverloadedException {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+
+    try {
+      future = this.executor.submit(() -> {
+        this.waitNanos.add(System.nanoTime() - submittedAt);
+        this.waitCount.increment();
+        return task.get();
+      });
+    } catch(RejectedExecutionException e) {
+      this.rejected.increment();
+      throw new ServiceOverloadedException(
+        "Servidor sobrecarregado, tente novamente em instantes",
+        this.retryAfterSeconds
+      );
+    }
+
+    try {
+      return future.get();
+    } catch(InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Hash de senha interrompido", e);
+    } catch(ExecutionException e) {
+      if(e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public int getQueueSize() {
+    return this.executor.getQueue().size();
+  }
+
+  public long getRejectedCount() {
+    return this.rejected.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("auth.hashing.queue.size", this, PasswordHashingExecutor::getQueueSize)
+      .description("Password hashing jobs waiting for a worker")
+      .register(registry);
+
+    Gauge.builder("auth.hashing.active", this.executor, ThreadPoolExecutor::getActiveCount)
+      .description("Password hashing jobs currently running")
+      .register(registry);
+
+    FunctionCounter.builder("auth.hashing.rejected", this.rejected, LongAdder::sum)
+      .description("Password hashing jobs rejected because the queue was full")
+      .register(registry);
+
+    FunctionTimer.builder(
+        "auth.hashing.wait",
+        this,
+        executor -> executor.waitCount.sum(),
+        executor -> executor.waitNanos.sum(),
+        TimeUnit.NANOSECONDS
+      )
+      .description("Time password hashing jobs spent queued before a worker picked them up")
+      .register(registry);
+  }
+
+  @Override
+  public void destroy() {
+    this.executor.shutdownNow();
+  }
+}
@@ -0,0 +1,31 @@
+package com.felipe.todoapi.infra.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Hands every hash and comparison to the PasswordHashingExecutor; covers registration as well as the
+// DaoAuthenticationProvider checks behind login, which pick this encoder up as the PasswordEncoder bean
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final PasswordHashingExecutor executor;
+
+  public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return this.executor.execute(() -> this.delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return this.executor.execute(() -> this.delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return this.delegate.upgradeEncoding(encodedPassword);
+  }
+}
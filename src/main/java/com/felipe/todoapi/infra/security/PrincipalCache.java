@@ -0,0 +1,123 @@
+package com.felipe.todoapi.infra.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache implements MeterBinder {
+
+  private final int maxSize;
+  private final long ttlNanos;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public PrincipalCache(
+    @Value("${api.security.principal-cache.max-size:10000}") int maxSize,
+    @Value("${api.security.principal-cache.ttl:5m}") Duration ttl
+  ) {
+    if(maxSize <= 0) {
+      throw new IllegalArgumentException("O tamanho máximo do cache deve ser maior que zero");
+    }
+    this.maxSize = maxSize;
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public UserSpringSecurity get(String key, Function<String, UserSpringSecurity> loader) {
+    long now = System.nanoTime();
+    Entry entry = this.entries.get(key);
+
+    if(entry != null) {
+      if(entry.expiresAt() - now > 0) {
+        this.hits.increment();
+        return entry.principal();
+      }
+      if(this.entries.remove(key, entry)) {
+        this.evictions.increment();
+      }
+    }
+
+    this.misses.increment();
+    UserSpringSecurity principal = loader.apply(key);
+    this.put(key, principal, now);
+    return principal;
+  }
+
+  public void invalidate(String key) {
+    this.entries.remove(key);
+  }
+
+  public void invalidateAll() {
+    this.entries.clear();
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  public int size() {
+    return this.entries.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", this.hits, LongAdder::sum)
+      .tags("cache", "principal", "result", "hit")
+      .register(registry);
+    FunctionCounter.builder("cache.gets", this.misses, LongAdder::sum)
+      .tags("cache", "principal", "result", "miss")
+      .register(registry);
+    FunctionCounter.builder("cache.evictions", this.evictions, LongAdder::sum)
+      .tags("cache", "principal")
+      .register(registry);
+    Gauge.builder("cache.size", this.entries, Map::size)
+      .tags("cache", "principal")
+      .register(registry);
+  }
+
+  private void put(String key, UserSpringSecurity principal, long now) {
+    if(this.entries.size() >= this.maxSize && !this.entries.containsKey(key)) {
+      this.evict(now);
+    }
+    this.entries.put(key, new Entry(principal, now + this.ttlNanos));
+  }
+
+  private void evict(long now) {
+    // Expired entries go first; if the cache is still full, drop arbitrary entries until there is room
+    this.entries.entrySet().removeIf(e -> {
+      boolean expired = e.getValue().expiresAt() - now <= 0;
+      if(expired) this.evictions.increment();
+      return expired;
+    });
+
+    Iterator<String> keys = this.entries.keySet().iterator();
+    while(this.entries.size() >= this.maxSize && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+      this.evictions.increment();
+    }
+  }
+
+  private record Entry(UserSpringSecurity principal, long expiresAt) {}
+}
@@ -0,0 +1,119 @@
+package com.felipe.todoapi.infra.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.services.AuthorizationService;
+import com.felipe.todoapi.utils.CustomResponseBody;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Runs right after SecurityFilter. /api/auth/** is limited per client address; everything else per authenticated
+// user id, falling back to the address for anonymous requests. Answers follow the RateLimit header fields draft
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+  static final String LIMIT_HEADER = "RateLimit-Limit";
+  static final String REMAINING_HEADER = "RateLimit-Remaining";
+  static final String RESET_HEADER = "RateLimit-Reset";
+  private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+  private final boolean enabled;
+  private final RateLimiter authLimiter;
+  private final RateLimiter apiLimiter;
+  private final byte[] tooManyRequestsResponse;
+
+  public RateLimitFilter(
+    ObjectMapper objectMapper,
+    @Value("${api.rate-limit.enabled:true}") boolean enabled,
+    @Value("${api.rate-limit.max-keys:100000}") int maxKeys,
+    @Value("${api.rate-limit.auth.capacity:20}") int authCapacity,
+    @Value("${api.rate-limit.auth.period:1m}") Duration authPeriod,
+    @Value("${api.rate-limit.api.capacity:300}") int apiCapacity,
+    @Value("${api.rate-limit.api.period:1m}") Duration apiPeriod
+  ) throws JsonProcessingException {
+    this.enabled = enabled;
+    this.authLimiter = new RateLimiter("auth", authCapacity, authPeriod, maxKeys);
+    this.apiLimiter = new RateLimiter("api", apiCapacity, apiPeriod, maxKeys);
+    this.tooManyRequestsResponse = objectMapper.writeValueAsBytes(new CustomResponseBody<Void>(
+      FailureResponseStatus.ERROR,
+      HttpStatus.TOO_MANY_REQUESTS,
+      "Muitas requisições, tente novamente mais tarde",
+      null
+    ));
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !this.enabled;
+  }
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    RateLimiter limiter;
+    String key;
+
+    if(request.getRequestURI().startsWith(AUTH_PATH_PREFIX)) {
+      limiter = this.authLimiter;
+      key = request.getRemoteAddr();
+    } else {
+      limiter = this.apiLimiter;
+      key = this.userIdOrAddress(request);
+    }
+
+    long result = limiter.tryAcquire(key, System.nanoTime());
+    response.setHeader(LIMIT_HEADER, Integer.toString(limiter.getCapacity()));
+
+    if(result >= 0) {
+      response.setHeader(REMAINING_HEADER, Long.toString(result));
+      response.setHeader(RESET_HEADER, Long.toString(limiter.secondsUntilReset(result)));
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String retryAfter = Long.toString(Math.max(1, RateLimiter.toSeconds(-result)));
+    response.setHeader(REMAINING_HEADER, "0");
+    response.setHeader(RESET_HEADER, retryAfter);
+    response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(this.tooManyRequestsResponse.length);
+    response.getOutputStream().write(this.tooManyRequestsResponse);
+  }
+
+  @Scheduled(fixedDelayString = "${api.rate-limit.sweep-interval:PT1M}")
+  public void sweep() {
+    long now = System.nanoTime();
+    this.authLimiter.sweep(now);
+    this.apiLimiter.sweep(now);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.authLimiter.bindTo(registry);
+    this.apiLimiter.bindTo(registry);
+  }
+
+  private String userIdOrAddress(HttpServletRequest request) {
+    UserSpringSecurity user = AuthorizationService.getAuthentication();
+    return user != null ? user.getId() : request.getRemoteAddr();
+  }
+}
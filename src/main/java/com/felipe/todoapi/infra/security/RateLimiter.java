@@ -0,0 +1,111 @@
+package com.felipe.todoapi.infra.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// One route group: `capacity` requests per `period` for each key, with bursts up to `capacity`. Buckets live in a
+// bounded map; a full bucket is indistinguishable from a missing one, so those are evicted first and for free
+public final class RateLimiter {
+
+  private final String group;
+  private final int capacity;
+  private final int maxKeys;
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public RateLimiter(String group, int capacity, Duration period, int maxKeys) {
+    if(capacity <= 0 || maxKeys <= 0 || period.isZero() || period.isNegative()) {
+      throw new IllegalArgumentException("Limite de requisições inválido para o grupo " + group);
+    }
+    this.group = group;
+    this.capacity = capacity;
+    this.maxKeys = maxKeys;
+    this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+    this.burstNanos = this.emissionIntervalNanos * capacity;
+  }
+
+  public long tryAcquire(String key, long now) {
+    TokenBucket bucket = this.buckets.get(key);
+
+    if(bucket == null) {
+      if(this.buckets.size() >= this.maxKeys) {
+        this.evict(now);
+      }
+      bucket = this.buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    long result = bucket.tryAcquire(now, this.emissionIntervalNanos, this.burstNanos);
+
+    if(result >= 0) {
+      this.allowed.increment();
+    } else {
+      this.rejected.increment();
+    }
+    return result;
+  }
+
+  int getCapacity() {
+    return this.capacity;
+  }
+
+  // Seconds until the bucket is full again after a request that left `remaining` tokens
+  long secondsUntilReset(long remaining) {
+    return toSeconds((this.capacity - remaining) * this.emissionIntervalNanos);
+  }
+
+  int size() {
+    return this.buckets.size();
+  }
+
+  void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("http.ratelimit.requests", this.allowed, LongAdder::sum)
+      .tags("group", this.group, "result", "allowed")
+      .register(registry);
+    FunctionCounter.builder("http.ratelimit.requests", this.rejected, LongAdder::sum)
+      .tags("group", this.group, "result", "rejected")
+      .register(registry);
+    FunctionCounter.builder("http.ratelimit.evictions", this.evictions, LongAdder::sum)
+      .tags("group", this.group)
+      .register(registry);
+    Gauge.builder("http.ratelimit.keys", this.buckets, Map::size)
+      .tags("group", this.group)
+      .register(registry);
+  }
+
+  // Drops buckets that have refilled completely; run periodically so idle keys do not linger until the map is full
+  void sweep(long now) {
+    this.buckets.values().removeIf(bucket -> {
+      boolean full = bucket.isFull(now);
+      if(full) this.evictions.increment();
+      return full;
+    });
+  }
+
+  static long toSeconds(long nanos) {
+    return Math.max(0, (nanos + 999_999_999L) / 1_000_000_000L);
+  }
+
+  private void evict(long now) {
+    // Refilled buckets first; if the map is still full, drop arbitrary keys, which then start over with a full bucket
+    this.sweep(now);
+
+    Iterator<TokenBucket> iterator = this.buckets.values().iterator();
+    while(this.buckets.size() >= this.maxKeys && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      this.evictions.increment();
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package com.felipe.todoapi.infra.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,22 +13,34 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfigurations {
 
+  private static final Logger logger = LoggerFactory.getLogger(SecurityConfigurations.class);
+  private static final String BCRYPT_ID = "bcrypt";
+  private static final int MIN_BCRYPT_STRENGTH = 10;
+  private static final int MAX_BCRYPT_STRENGTH = 14;
+
   private final SecurityFilter securityFilter;
+  private final RateLimitFilter rateLimitFilter;
   private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
   public SecurityConfigurations(
     SecurityFilter securityFilter,
+    RateLimitFilter rateLimitFilter,
     CustomAuthenticationEntryPoint customAuthenticationEntryPoint
   ) {
     this.securityFilter = securityFilter;
+    this.rateLimitFilter = rateLimitFilter;
     this.customAuthenticationEntryPoint = customAuthenticationEntryPoint;
   }
 
@@ -37,11 +52,13 @@ public class SecurityConfigurations {
       .authorizeHttpRequests(authorize -> authorize
         .requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+        .requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll()
         .anyRequest().authenticated()
       )
       .exceptionHandling(exception -> exception
         .authenticationEntryPoint(this.customAuthenticationEntryPoint))
       .addFilterBefore(this.securityFilter, UsernamePasswordAuthenticationFilter.class)
+      .addFilterAfter(this.rateLimitFilter, SecurityFilter.class)
       .build();
   }
 
@@ -52,8 +69,26 @@ public class SecurityConfigurations {
     return authenticationConfiguration.getAuthenticationManager();
   }
 
+  // Hashes are stored as {bcrypt}$2a$<cost>$..., so the algorithm and cost travel with each credential.
+  // Legacy hashes without the {bcrypt} prefix still match, and upgradeEncoding flags them and any hash
+  // below the current cost for a rehash on the next successful login
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+    PasswordHashingExecutor passwordHashingExecutor,
+    @Value("${api.security.hashing.bcrypt-strength:0}") int configuredStrength,
+    @Value("${api.security.hashing.target-duration:250ms}") Duration targetDuration
+  ) {
+    int strength = configuredStrength > 0
+      ? configuredStrength
+      : BCryptStrengthCalibrator.calibrate(targetDuration, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+    logger.info("BCrypt strength {} ({})", strength, configuredStrength > 0 ? "configured" : "calibrated for " + targetDuration);
+
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+      BCRYPT_ID,
+      Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength))
+    );
+    encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+    return new PooledPasswordEncoder(encoder, passwordHashingExecutor);
   }
 }
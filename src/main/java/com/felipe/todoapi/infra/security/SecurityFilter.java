@@ -1,14 +1,21 @@
 package com.felipe.todoapi.infra.security;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.exceptions.InvalidTokenException;
 import com.felipe.todoapi.services.AuthorizationService;
+import com.felipe.todoapi.utils.CustomResponseBody;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
@@ -20,16 +27,34 @@ public class SecurityFilter extends OncePerRequestFilter {
 
   private final TokenService tokenService;
   private final AuthorizationService authorizationService;
+  private final PrincipalCache principalCache;
+  private final TokenRevocationList tokenRevocationList;
   private final HandlerExceptionResolver resolver;
+  private final InvalidTokenCounter invalidTokenCounter;
+  private final boolean revocationCheck;
+  private final byte[] invalidTokenResponse;
 
   public SecurityFilter(
     TokenService tokenService,
     AuthorizationService authorizationService,
-    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver
-  ) {
+    PrincipalCache principalCache,
+    TokenRevocationList tokenRevocationList,
+    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+    InvalidTokenCounter invalidTokenCounter,
+    ObjectMapper objectMapper,
+    @Value("${api.security.token.revocation-check:true}") boolean revocationCheck
+  ) throws JsonProcessingException {
     this.tokenService = tokenService;
     this.authorizationService = authorizationService;
+    this.principalCache = principalCache;
+    this.tokenRevocationList = tokenRevocationList;
     this.resolver = resolver;
+    this.invalidTokenCounter = invalidTokenCounter;
+    this.revocationCheck = revocationCheck;
+    // Same body ApplicationControllerAdvice renders for a JWTVerificationException, serialized once
+    this.invalidTokenResponse = objectMapper.writeValueAsBytes(
+      new CustomResponseBody<Void>(FailureResponseStatus.ERROR, HttpStatus.UNAUTHORIZED, InvalidTokenException.MESSAGE, null)
+    );
   }
 
   @Override
@@ -42,8 +67,12 @@ public class SecurityFilter extends OncePerRequestFilter {
       var token = this.recoverToken(request);
 
       if(token != null) {
-        var email = this.tokenService.validateToken(token);
-        UserDetails user = this.authorizationService.getUserDetailsByEmail(email);
+        UserSpringSecurity user = this.tokenService.validateToken(token);
+
+        if(this.revocationCheck) {
+          this.checkTokenVersion(user);
+          this.checkTokenRevoked(user);
+        }
 
         var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -51,11 +80,41 @@ public class SecurityFilter extends OncePerRequestFilter {
 
       filterChain.doFilter(request, response);
 
+    } catch(InvalidTokenException exception) {
+      this.rejectInvalidToken(request, response);
     } catch(Exception exception) {
       this.resolver.resolveException(request, response, null, exception);
     }
   }
 
+  private void checkTokenVersion(UserSpringSecurity user) {
+    UserSpringSecurity currentUser = this.principalCache.get(user.getId(), this.authorizationService::getUserDetailsById);
+
+    if(currentUser.getTokenVersion() != user.getTokenVersion()) {
+      throw InvalidTokenException.INSTANCE;
+    }
+  }
+
+  private void checkTokenRevoked(UserSpringSecurity user) {
+    if(this.tokenRevocationList.isRevoked(user.getTokenId())) {
+      throw InvalidTokenException.INSTANCE;
+    }
+  }
+
+  // Lean path for rejected tokens: no handler resolution, no message conversion, no per-request serialization
+  private void rejectInvalidToken(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    this.invalidTokenCounter.increment(request.getRemoteAddr());
+
+    if(response.isCommitted()) {
+      return;
+    }
+
+    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(this.invalidTokenResponse.length);
+    response.getOutputStream().write(this.invalidTokenResponse);
+  }
+
   private String recoverToken(HttpServletRequest request) {
     var authHeader = request.getHeader("Authorization");
     if(authHeader == null) return null;
@@ -0,0 +1,35 @@
+package com.felipe.todoapi.infra.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single AtomicLong in GCRA form: the state is the theoretical arrival time (TAT) of the
+// next request, so refilling is implicit and acquiring is one CAS. A TAT at or before now means a full bucket
+final class TokenBucket {
+
+  private final AtomicLong theoreticalArrival;
+
+  TokenBucket(long now) {
+    this.theoreticalArrival = new AtomicLong(now);
+  }
+
+  // Returns the tokens left after taking one, or -(nanos until one is available) when the bucket is empty
+  long tryAcquire(long now, long emissionIntervalNanos, long burstNanos) {
+    while(true) {
+      long tat = this.theoreticalArrival.get();
+      long newTat = Math.max(tat, now) + emissionIntervalNanos;
+      long debt = newTat - now;
+
+      if(debt > burstNanos) {
+        return -(debt - burstNanos);
+      }
+
+      if(this.theoreticalArrival.compareAndSet(tat, newTat)) {
+        return (burstNanos - debt) / emissionIntervalNanos;
+      }
+    }
+  }
+
+  boolean isFull(long now) {
+    return this.theoreticalArrival.get() - now <= 0;
+  }
+}
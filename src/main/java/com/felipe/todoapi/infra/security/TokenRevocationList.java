@@ -0,0 +1,99 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.models.RevokedToken;
+import com.felipe.todoapi.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Deny-list of access token ids. The table is the source of truth; a Bloom filter mirrors it so the common
+// "not revoked" answer costs a few hashes and no allocation. Only a filter hit goes to the database.
+// The filter is rebuilt on a schedule, which also prunes rows whose tokens have expired and picks up
+// revocations made by other instances
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final int expectedInsertions;
+  private final double falsePositiveRate;
+  private final Object writeLock = new Object();
+  private volatile BloomFilter filter;
+
+  private final LongAdder filterHits = new LongAdder();
+  private final LongAdder confirmedRevocations = new LongAdder();
+
+  public TokenRevocationList(
+    RevokedTokenRepository revokedTokenRepository,
+    @Value("${api.security.revocation.expected-insertions:100000}") int expectedInsertions,
+    @Value("${api.security.revocation.false-positive-rate:0.01}") double falsePositiveRate
+  ) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveRate = falsePositiveRate;
+    this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+  }
+
+  public boolean isRevoked(String tokenId) {
+    if(tokenId == null || !this.filter.mightContain(tokenId)) {
+      return false;
+    }
+
+    this.filterHits.increment();
+    boolean revoked = this.revokedTokenRepository.existsById(tokenId);
+
+    if(revoked) {
+      this.confirmedRevocations.increment();
+    }
+    return revoked;
+  }
+
+  public void revoke(String tokenId, Instant expiresAt) {
+    synchronized(this.writeLock) {
+      this.revokedTokenRepository.save(new RevokedToken(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+      this.filter.put(tokenId);
+    }
+  }
+
+  // Runs once at startup (no initial delay) and then every rebuild-interval
+  @Scheduled(fixedDelayString = "${api.security.revocation.rebuild-interval:PT1M}")
+  public void rebuild() {
+    LocalDateTime now = LocalDateTime.now();
+
+    synchronized(this.writeLock) {
+      int pruned = this.revokedTokenRepository.deleteExpired(now);
+      List<String> tokenIds = this.revokedTokenRepository.findActiveTokenIds(now);
+      BloomFilter rebuilt = BloomFilter.create(Math.max(this.expectedInsertions, tokenIds.size() * 2), this.falsePositiveRate);
+
+      tokenIds.forEach(rebuilt::put);
+      this.filter = rebuilt;
+
+      if(pruned > 0) {
+        logger.debug("Lista de revogação reconstruída com {} tokens, {} expirados removidos", tokenIds.size(), pruned);
+      }
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("auth.revocation.filter.hits", this.filterHits, LongAdder::sum)
+      .description("Token ids the Bloom filter could not rule out, each one checked in the database")
+      .register(registry);
+
+    FunctionCounter.builder("auth.revocation.rejected", this.confirmedRevocations, LongAdder::sum)
+      .description("Requests rejected because their access token was revoked")
+      .register(registry);
+  }
+}
@@ -1,51 +1,139 @@
 package com.felipe.todoapi.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.felipe.todoapi.exceptions.InvalidTokenException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
-  @Value("${api.security.token.secret}")
-  private String secret;
+  static final String ISSUER = "todo-spring-api";
+  static final String USER_ID_CLAIM = "uid";
+  static final String TOKEN_VERSION_CLAIM = "ver";
+
+  private final String activeKid;
+  private final Algorithm signer;
+  private final Map<String, JWTVerifier> verifiers;
+  private final Duration accessTtl;
+
+  // Keys rotate on restart: deploy with a new kid/secret and move the previous pair to retired-keys (kid:secret),
+  // so tokens it signed keep verifying until they expire; drop it from retired-keys on the next deploy
+  public TokenService(
+    @Value("${api.security.token.secret}") String secret,
+    @Value("${api.security.token.kid:default}") String kid,
+    @Value("${api.security.token.retired-keys:}") String[] retiredKeys,
+    @Value("${api.security.token.access-ttl:15m}") Duration accessTtl
+  ) {
+    if(kid == null || kid.isBlank() || secret == null || secret.isBlank()) {
+      throw new IllegalArgumentException("O kid e o segredo do token são obrigatórios");
+    }
+
+    Map<String, JWTVerifier> verifiers = new HashMap<>();
+
+    for(String retiredKey : retiredKeys) {
+      String[] parts = retiredKey.split(":", 2);
+      if(parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+        throw new IllegalArgumentException("Chave de token inválida, o formato esperado é kid:secret");
+      }
+      verifiers.put(parts[0].trim(), buildVerifier(Algorithm.HMAC256(parts[1].trim())));
+    }
+
+    this.activeKid = kid;
+    this.signer = Algorithm.HMAC256(secret);
+    verifiers.put(kid, buildVerifier(this.signer));
+    this.verifiers = Map.copyOf(verifiers);
+    this.accessTtl = accessTtl;
+  }
 
   public String generateToken(UserSpringSecurity user) {
     try {
-      Algorithm algorithm = Algorithm.HMAC256(this.secret);
-
       return JWT.create()
-        .withIssuer("todo-spring-api")
+        .withKeyId(this.activeKid)
+        .withIssuer(ISSUER)
         .withSubject(user.getUsername())
+        .withJWTId(UUID.randomUUID().toString())
+        .withClaim(USER_ID_CLAIM, user.getId())
+        .withClaim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
         .withExpiresAt(this.generateExpirationDate())
-        .sign(algorithm);
+        .sign(this.signer);
     } catch(JWTCreationException exception) {
       throw new JWTCreationException("Erro ao gerar token", exception);
     }
   }
 
-  public String validateToken(String token) {
+  // Every rejection throws the shared, stackless InvalidTokenException. Cheap checks run first: a token
+  // that is not three dot-separated parts is never decoded, and an expired one is never HMAC-verified
+  // (an unverified exp can only make us reject, never accept)
+  public UserSpringSecurity validateToken(String token) throws InvalidTokenException {
+    if(!hasJwtShape(token)) {
+      throw InvalidTokenException.INSTANCE;
+    }
+
     try {
-      Algorithm algorithm = Algorithm.HMAC256(this.secret);
+      DecodedJWT decodedJWT = JWT.decode(token);
+      Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
 
-      return JWT.require(algorithm)
-        .withIssuer("todo-spring-api")
-        .build()
-        .verify(token)
-        .getSubject();
+      if(expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+        throw InvalidTokenException.INSTANCE;
+      }
+
+      String kid = decodedJWT.getKeyId() != null ? decodedJWT.getKeyId() : this.activeKid;
+      JWTVerifier verifier = this.verifiers.get(kid);
+
+      if(verifier == null) {
+        throw InvalidTokenException.INSTANCE;
+      }
+
+      verifier.verify(decodedJWT);
+
+      return new UserSpringSecurity(
+        decodedJWT.getClaim(USER_ID_CLAIM).asString(),
+        decodedJWT.getSubject(),
+        null,
+        decodedJWT.getClaim(TOKEN_VERSION_CLAIM).asInt(),
+        decodedJWT.getId(),
+        expiresAt
+      );
     } catch(JWTVerificationException exception) {
-      throw new JWTVerificationException("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+      throw InvalidTokenException.INSTANCE;
     }
   }
 
   private Instant generateExpirationDate() {
-    return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+    return Instant.now().plus(this.accessTtl);
+  }
+
+  private static boolean hasJwtShape(String token) {
+    if(token == null || token.isEmpty()) {
+      return false;
+    }
+
+    int dots = 0;
+    for(int i = 0; i < token.length(); i++) {
+      if(token.charAt(i) == '.') {
+        dots++;
+      }
+    }
+    return dots == 2;
+  }
+
+  private static JWTVerifier buildVerifier(Algorithm algorithm) {
+    return JWT.require(algorithm)
+      .withIssuer(ISSUER)
+      .withClaim(USER_ID_CLAIM, (claim, jwt) -> claim.asString() != null)
+      .withClaim(TOKEN_VERSION_CLAIM, (claim, jwt) -> claim.asInt() != null)
+      .build();
   }
 }
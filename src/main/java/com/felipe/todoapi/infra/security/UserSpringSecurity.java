@@ -3,13 +3,18 @@ package com.felipe.todoapi.infra.security;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 
 public class UserSpringSecurity implements UserDetails {
 
   private String id;
+  private String name;
   private String username;
   private String password;
+  private int tokenVersion;
+  private String tokenId;
+  private Instant tokenExpiresAt;
 
   public UserSpringSecurity() {}
 
@@ -19,6 +24,23 @@ public class UserSpringSecurity implements UserDetails {
     this.password = password;
   }
 
+  public UserSpringSecurity(String id, String username, String password, int tokenVersion) {
+    this(id, username, password);
+    this.tokenVersion = tokenVersion;
+  }
+
+  public UserSpringSecurity(String id, String name, String username, String password, int tokenVersion) {
+    this(id, username, password, tokenVersion);
+    this.name = name;
+  }
+
+  // Principal rebuilt from an access token: carries the jti and exp so the token itself can be revoked
+  public UserSpringSecurity(String id, String username, String password, int tokenVersion, String tokenId, Instant tokenExpiresAt) {
+    this(id, username, password, tokenVersion);
+    this.tokenId = tokenId;
+    this.tokenExpiresAt = tokenExpiresAt;
+  }
+
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
     return null;
@@ -28,6 +50,22 @@ public class UserSpringSecurity implements UserDetails {
     return this.id;
   }
 
+  public String getName() {
+    return this.name;
+  }
+
+  public int getTokenVersion() {
+    return this.tokenVersion;
+  }
+
+  public String getTokenId() {
+    return this.tokenId;
+  }
+
+  public Instant getTokenExpiresAt() {
+    return this.tokenExpiresAt;
+  }
+
   @Override
   public String getPassword() {
     return this.password;
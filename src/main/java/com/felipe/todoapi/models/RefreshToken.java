@@ -0,0 +1,104 @@
+package com.felipe.todoapi.models;
+
+import com.felipe.todoapi.infra.persistence.TimeOrderedUuid;
+import com.felipe.todoapi.infra.persistence.UuidStringJavaType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+  name = "refresh_token",
+  indexes = {
+    @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+    @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+  }
+)
+public class RefreshToken {
+
+  @Id
+  @TimeOrderedUuid
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
+  private String id;
+
+  // SHA-256 of the token handed to the client; the raw value is never stored
+  @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+  private String tokenHash;
+
+  // Every token issued from one login shares the family, so reuse of any of them revokes the whole chain
+  @Column(name = "family_id", length = 36, nullable = false)
+  private String familyId;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  // users.token_version at issue time; a bump (e.g. on password change) makes the whole family unusable
+  @Column(name = "token_version", nullable = false)
+  private Integer tokenVersion;
+
+  @Column(name = "expires_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(nullable = false)
+  private Boolean used = false;
+
+  @Column(nullable = false)
+  private Boolean revoked = false;
+
+  @CreationTimestamp
+  @Column(name = "created_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
+  private LocalDateTime createdAt;
+
+  public RefreshToken() {}
+
+  public RefreshToken(String tokenHash, String familyId, User user, int tokenVersion, LocalDateTime expiresAt) {
+    this.tokenHash = tokenHash;
+    this.familyId = familyId;
+    this.user = user;
+    this.tokenVersion = tokenVersion;
+    this.expiresAt = expiresAt;
+  }
+
+  public String getId() {
+    return this.id;
+  }
+
+  public String getTokenHash() {
+    return this.tokenHash;
+  }
+
+  public String getFamilyId() {
+    return this.familyId;
+  }
+
+  public User getUser() {
+    return this.user;
+  }
+
+  public Integer getTokenVersion() {
+    return this.tokenVersion;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return this.expiresAt;
+  }
+
+  public Boolean isUsed() {
+    return this.used;
+  }
+
+  public Boolean isRevoked() {
+    return this.revoked;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return this.createdAt;
+  }
+}
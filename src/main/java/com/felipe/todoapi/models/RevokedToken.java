@@ -0,0 +1,43 @@
+package com.felipe.todoapi.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires", columnList = "expires_at"))
+public class RevokedToken {
+
+  // The jti claim of the revoked access token
+  @Id
+  @Column(name = "token_id", length = 36)
+  private String tokenId;
+
+  // Same instant as the token's exp claim; past it the token is rejected anyway and the row can be pruned
+  @Column(name = "expires_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @CreationTimestamp
+  @Column(name = "created_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
+  private LocalDateTime createdAt;
+
+  public RevokedToken() {}
+
+  public RevokedToken(String tokenId, LocalDateTime expiresAt) {
+    this.tokenId = tokenId;
+    this.expiresAt = expiresAt;
+  }
+
+  public String getTokenId() {
+    return this.tokenId;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return this.expiresAt;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return this.createdAt;
+  }
+}
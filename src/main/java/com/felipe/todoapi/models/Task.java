@@ -3,18 +3,34 @@ package com.felipe.todoapi.models;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.felipe.todoapi.enums.PriorityLevel;
 import com.felipe.todoapi.enums.converters.PriorityLevelConverter;
+import com.felipe.todoapi.infra.persistence.TimeOrderedUuid;
+import com.felipe.todoapi.infra.persistence.UuidStringJavaType;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task")
+@Table(
+  name = "task",
+  indexes = {
+    @Index(name = "idx_task_user_done_updated", columnList = "user_id, is_done, updated_at DESC, id"),
+    @Index(name = "idx_task_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_task_user_updated", columnList = "user_id, updated_at, id"),
+    @Index(name = "idx_task_user_title", columnList = "user_id, title, id"),
+    @Index(name = "idx_task_user_priority", columnList = "user_id, priority, id")
+  }
+)
 public class Task {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
   @Column(length = 60, nullable = false)
@@ -38,11 +54,18 @@ public class Task {
   @Column(name = "updated_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
   private LocalDateTime updatedAt;
 
-  @ManyToOne(optional = false)
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "user_id", nullable = false)
   @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
   private User user;
 
+  // Read-only view of the foreign key, so ownership checks never touch the users row
+  @Column(name = "user_id", insertable = false, updatable = false)
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
+  @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+  private String userId;
+
   public Task() {}
 
   public String getId() {
@@ -99,5 +122,10 @@ public class Task {
 
   public void setUser(User user) {
     this.user = user;
+    this.userId = user != null ? user.getId() : null;
+  }
+
+  public String getUserId() {
+    return this.userId;
   }
 }
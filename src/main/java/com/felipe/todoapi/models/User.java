@@ -2,31 +2,51 @@ package com.felipe.todoapi.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.felipe.todoapi.infra.cache.EntityCacheConfiguration;
+import com.felipe.todoapi.infra.persistence.TimeOrderedUuid;
+import com.felipe.todoapi.infra.persistence.UuidStringJavaType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfiguration.USER_REGION)
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 public class User {
 
+  public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
   @Column(length = 15, nullable = false)
   private String name;
 
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String email;
 
   @JsonIgnore
   @Column(nullable = false)
   private String password;
 
+  @JsonIgnore
+  @ColumnDefault("0")
+  @Column(name = "token_version", nullable = false)
+  private Integer tokenVersion = 0;
+
   @CreationTimestamp
   @Column(name = "created_at", columnDefinition = "TIMESTAMP(3)", nullable = false)
   private LocalDateTime createdAt;
@@ -75,6 +95,14 @@ public class User {
     this.password = password;
   }
 
+  public Integer getTokenVersion() {
+    return this.tokenVersion;
+  }
+
+  public void setTokenVersion(Integer tokenVersion) {
+    this.tokenVersion = tokenVersion;
+  }
+
   public LocalDateTime getCreatedAt() {
     return this.createdAt;
   }
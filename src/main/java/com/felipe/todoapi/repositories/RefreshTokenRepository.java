@@ -0,0 +1,41 @@
+package com.felipe.todoapi.repositories;
+
+import com.felipe.todoapi.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+  @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+  Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+  @Query("SELECT r.familyId FROM RefreshToken r WHERE r.tokenHash = :tokenHash AND r.user.id = :userId")
+  Optional<String> findFamilyIdByTokenHashAndUserId(@Param("tokenHash") String tokenHash, @Param("userId") String userId);
+
+  // Conditional, so two concurrent refreshes with the same token cannot both win
+  @Transactional
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.used = true WHERE r.id = :id AND r.used = false AND r.revoked = false")
+  int markUsed(@Param("id") String id);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+  int revokeFamily(@Param("familyId") String familyId);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+  int deleteAllByUserId(@Param("userId") String userId);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.felipe.todoapi.repositories;
+
+import com.felipe.todoapi.models.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+  @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+  List<String> findActiveTokenIds(@Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,18 +1,39 @@
 package com.felipe.todoapi.repositories;
 
 import com.felipe.todoapi.models.Task;
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository extends JpaRepository<Task, String>, TaskRepositoryCustom {
 
-  @Query("SELECT t FROM Task t WHERE t.user.id = :id")
-  List<Task> findAllByUserId(@Param("id") String id, Sort sort);
+  @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.userId = :userId")
+  List<Task> findAllByIdInAndUserId(@Param("ids") Collection<String> ids, @Param("userId") String userId);
 
-  @Query("SELECT t FROM Task t WHERE t.user.id = :id AND t.isDone = :status ORDER BY t.updatedAt DESC")
-  List<Task> findAllDoneOrNotDone(@Param("id") String id, @Param("status") Boolean status);
+  @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+  List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM Task t WHERE t.id = :id AND t.userId = :userId")
+  int deleteByIdAndUserId(@Param("id") String id, @Param("userId") String userId);
+
+  // Set-based and bounded: each call deletes at most `limit` rows in its own short transaction. The query space tells
+  // Hibernate only the task table changes, otherwise a native statement evicts every second-level cache region
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task"))
+  @Query(
+    value = "DELETE FROM task WHERE id IN (SELECT id FROM task WHERE user_id = CAST(:userId AS uuid) LIMIT :limit)",
+    nativeQuery = true
+  )
+  int deleteChunkByUserId(@Param("userId") String userId, @Param("limit") int limit);
 }
@@ -0,0 +1,39 @@
+package com.felipe.todoapi.repositories;
+
+import com.felipe.todoapi.dtos.TaskResponseDTO;
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.utils.TaskCursor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+  List<TaskResponseDTO> findPageByUserId(String userId, String field, Sort.Direction direction, TaskCursor after, int limit);
+
+  List<TaskResponseDTO> findDoneOrNotDonePageByUserId(String userId, Boolean status, TaskCursor after, int limit);
+
+  Optional<TaskResponseDTO> findResponseById(String id);
+
+  int updateByIdAndUserId(
+    String id,
+    String userId,
+    String title,
+    String description,
+    PriorityLevel priority,
+    Boolean isDone,
+    LocalDateTime updatedAt
+  );
+
+  int updateMatchingByUserId(
+    String userId,
+    Boolean status,
+    PriorityLevel priorityFilter,
+    PriorityLevel priority,
+    Boolean isDone,
+    LocalDateTime updatedAt
+  );
+
+  int deleteMatchingByUserId(String userId, Boolean status, PriorityLevel priority);
+}
@@ -0,0 +1,270 @@
+package com.felipe.todoapi.repositories;
+
+import com.felipe.todoapi.dtos.TaskResponseDTO;
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.enums.converters.PriorityLevelConverter;
+import com.felipe.todoapi.models.Task;
+import com.felipe.todoapi.utils.TaskCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+  private final PriorityLevelConverter priorityLevelConverter = new PriorityLevelConverter();
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<TaskResponseDTO> findPageByUserId(String userId, String field, Sort.Direction direction, TaskCursor after, int limit) {
+    return this.findPage(userId, null, field, direction, direction, after, limit);
+  }
+
+  // Newest first with an ascending id tiebreaker, matching idx_task_user_done_updated (user_id, is_done, updated_at DESC, id)
+  @Override
+  public List<TaskResponseDTO> findDoneOrNotDonePageByUserId(String userId, Boolean status, TaskCursor after, int limit) {
+    return this.findPage(userId, status, "updatedAt", Sort.Direction.DESC, Sort.Direction.ASC, after, limit);
+  }
+
+  @Override
+  public Optional<TaskResponseDTO> findResponseById(String id) {
+    CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+    CriteriaQuery<TaskResponseDTO> query = cb.createQuery(TaskResponseDTO.class);
+    Root<Task> task = query.from(Task.class);
+
+    query.select(this.responseSelection(cb, task)).where(cb.equal(task.get("id"), id));
+
+    return this.entityManager.createQuery(query).getResultStream().findFirst();
+  }
+
+  // Partial update in one statement: null arguments keep the current column value. Bulk updates skip
+  // @UpdateTimestamp, so updatedAt is set explicitly. Returns 0 when the task is missing or owned by someone else
+  @Override
+  @Transactional
+  public int updateByIdAndUserId(
+    String id,
+    String userId,
+    String title,
+    String description,
+    PriorityLevel priority,
+    Boolean isDone,
+    LocalDateTime updatedAt
+  ) {
+    CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+    CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+    Root<Task> task = update.from(Task.class);
+
+    if(title != null) {
+      update.set(task.<String>get("title"), title);
+    }
+
+    if(description != null) {
+      update.set(task.<String>get("description"), description);
+    }
+
+    if(priority != null) {
+      update.set(task.<PriorityLevel>get("priority"), priority);
+    }
+
+    if(isDone != null) {
+      update.set(task.<Boolean>get("isDone"), isDone);
+    }
+
+    update.set(task.<LocalDateTime>get("updatedAt"), updatedAt)
+      .where(cb.equal(task.get("id"), id), cb.equal(task.get("userId"), userId));
+
+    return this.entityManager.createQuery(update).executeUpdate();
+  }
+
+  // Set-based update of every task of the user matching the filters (null filters match anything). Rows already
+  // holding the new values are left alone, so their updatedAt does not move and the count reflects real changes
+  @Override
+  @Transactional
+  public int updateMatchingByUserId(
+    String userId,
+    Boolean status,
+    PriorityLevel priorityFilter,
+    PriorityLevel priority,
+    Boolean isDone,
+    LocalDateTime updatedAt
+  ) {
+    CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+    CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+    Root<Task> task = update.from(Task.class);
+
+    List<Predicate> changes = new ArrayList<>();
+
+    if(priority != null) {
+      update.set(task.<PriorityLevel>get("priority"), priority);
+      changes.add(cb.notEqual(task.get("priority"), priority));
+    }
+
+    if(isDone != null) {
+      update.set(task.<Boolean>get("isDone"), isDone);
+      changes.add(cb.notEqual(task.get("isDone"), isDone));
+    }
+
+    if(changes.isEmpty()) {
+      return 0;
+    }
+
+    List<Predicate> predicates = this.matching(cb, task, userId, status, priorityFilter);
+    predicates.add(cb.or(changes.toArray(Predicate[]::new)));
+
+    update.set(task.<LocalDateTime>get("updatedAt"), updatedAt)
+      .where(predicates.toArray(Predicate[]::new));
+
+    return this.entityManager.createQuery(update).executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public int deleteMatchingByUserId(String userId, Boolean status, PriorityLevel priority) {
+    CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+    CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+    Root<Task> task = delete.from(Task.class);
+
+    delete.where(this.matching(cb, task, userId, status, priority).toArray(Predicate[]::new));
+
+    return this.entityManager.createQuery(delete).executeUpdate();
+  }
+
+  private List<Predicate> matching(CriteriaBuilder cb, Root<Task> task, String userId, Boolean status, PriorityLevel priority) {
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(task.get("userId"), userId));
+
+    if(status != null) {
+      predicates.add(cb.equal(task.get("isDone"), status));
+    }
+
+    if(priority != null) {
+      predicates.add(cb.equal(task.get("priority"), priority));
+    }
+
+    return predicates;
+  }
+
+  // Projects rows straight into the response DTO: no managed entities, no dirty-checking snapshots, no users join
+  private List<TaskResponseDTO> findPage(
+    String userId,
+    Boolean status,
+    String field,
+    Sort.Direction direction,
+    Sort.Direction idDirection,
+    TaskCursor after,
+    int limit
+  ) {
+    CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+    CriteriaQuery<TaskResponseDTO> query = cb.createQuery(TaskResponseDTO.class);
+    Root<Task> task = query.from(Task.class);
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(task.get("userId"), userId));
+
+    if(status != null) {
+      predicates.add(cb.equal(task.get("isDone"), status));
+    }
+
+    if(after != null) {
+      predicates.add(this.seekPredicate(cb, task, field, direction, idDirection, after));
+    }
+
+    query.select(this.responseSelection(cb, task))
+      .where(predicates.toArray(Predicate[]::new))
+      .orderBy(this.order(cb, task.get(field), direction), this.order(cb, task.get("id"), idDirection));
+
+    return this.entityManager.createQuery(query)
+      .setMaxResults(limit)
+      .getResultList();
+  }
+
+  private CompoundSelection<TaskResponseDTO> responseSelection(CriteriaBuilder cb, Root<Task> task) {
+    return cb.construct(
+      TaskResponseDTO.class,
+      task.get("id"),
+      task.get("title"),
+      task.get("description"),
+      task.get("priority"),
+      task.get("isDone"),
+      task.get("createdAt"),
+      task.get("updatedAt")
+    );
+  }
+
+  private Predicate seekPredicate(
+    CriteriaBuilder cb,
+    Root<Task> task,
+    String field,
+    Sort.Direction direction,
+    Sort.Direction idDirection,
+    TaskCursor after
+  ) {
+    try {
+      return switch(field) {
+        case "title" -> this.seek(cb, task.get("title"), after.value(), task.get("id"), after.id(), direction, idDirection);
+        case "priority" -> this.seek(
+          cb,
+          task.get("priority"),
+          this.priorityLevelConverter.convertToEntityAttribute(after.value()),
+          task.get("id"),
+          after.id(),
+          direction,
+          idDirection
+        );
+        case "createdAt", "updatedAt" -> this.seek(
+          cb,
+          task.get(field),
+          LocalDateTime.parse(after.value()),
+          task.get("id"),
+          after.id(),
+          direction,
+          idDirection
+        );
+        default -> throw new IllegalArgumentException("Campo de ordenação inválido: " + field);
+      };
+    } catch(DateTimeParseException e) {
+      throw new IllegalArgumentException("Cursor inválido");
+    }
+  }
+
+  // Rows strictly after (value, id) in the requested direction, with the id breaking ties. The OR alone is not an
+  // index bound, so a redundant inclusive bound on the value is ANDed in: the scan starts at the cursor instead of
+  // filtering every earlier row of the user
+  private <T extends Comparable<? super T>> Predicate seek(
+    CriteriaBuilder cb,
+    Path<T> path,
+    T value,
+    Path<String> idPath,
+    String id,
+    Sort.Direction direction,
+    Sort.Direction idDirection
+  ) {
+    Predicate pastValue = direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    Predicate pastId = idDirection.isAscending() ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+
+    Predicate bound = direction.isAscending() ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+
+    return cb.and(bound, cb.or(pastValue, cb.and(cb.equal(path, value), pastId)));
+  }
+
+  private Order order(CriteriaBuilder cb, Path<?> path, Sort.Direction direction) {
+    return direction.isAscending() ? cb.asc(path) : cb.desc(path);
+  }
+}
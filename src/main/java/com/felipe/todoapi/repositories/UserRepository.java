@@ -2,9 +2,24 @@ package com.felipe.todoapi.repositories;
 
 import com.felipe.todoapi.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
   Optional<User> findByEmail(String email);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+  int updatePassword(@Param("id") String id, @Param("password") String password);
+
+  // Bypasses the User.tasks cascade, which would load every task; the tasks must already be gone
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM User u WHERE u.id = :id")
+  int deleteWithoutCascadeById(@Param("id") String id);
 }
@@ -0,0 +1,54 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.repositories.RefreshTokenRepository;
+import com.felipe.todoapi.repositories.TaskRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AccountDeletionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AccountDeletionService.class);
+
+  private final TaskRepository taskRepository;
+  private final UserRepository userRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final int chunkSize;
+
+  public AccountDeletionService(
+    TaskRepository taskRepository,
+    UserRepository userRepository,
+    RefreshTokenRepository refreshTokenRepository,
+    @Value("${api.account-deletion.chunk-size:1000}") int chunkSize
+  ) {
+    this.taskRepository = taskRepository;
+    this.userRepository = userRepository;
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.chunkSize = chunkSize;
+  }
+
+  // Tasks go first in bounded chunks, each one its own transaction, so heap use and lock time do not grow
+  // with the account size. Returns how many tasks were removed
+  public long deleteAccount(String userId) {
+    long deletedTasks = 0;
+    int deleted;
+
+    do {
+      deleted = this.taskRepository.deleteChunkByUserId(userId, this.chunkSize);
+      deletedTasks += deleted;
+
+      if(deleted > 0) {
+        logger.info("Exclusão da conta {}: {} tarefas removidas até agora", userId, deletedTasks);
+      }
+    } while(deleted > 0);
+
+    this.refreshTokenRepository.deleteAllByUserId(userId);
+    this.userRepository.deleteWithoutCascadeById(userId);
+    logger.info("Conta {} excluída com {} tarefas", userId, deletedTasks);
+
+    return deletedTasks;
+  }
+}
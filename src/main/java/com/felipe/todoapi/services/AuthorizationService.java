@@ -3,8 +3,10 @@ package com.felipe.todoapi.services;
 import com.felipe.todoapi.infra.security.UserSpringSecurity;
 import com.felipe.todoapi.models.User;
 import com.felipe.todoapi.repositories.UserRepository;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +14,7 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class AuthorizationService implements UserDetailsService {
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
@@ -25,22 +27,54 @@ public class AuthorizationService implements UserDetailsService {
     return this.getUserDetailsByEmail(username);
   }
 
-  public UserDetails getUserDetailsByEmail(String email) throws UsernameNotFoundException {
+  // Called by DaoAuthenticationProvider after a successful login whose stored hash is outdated
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    UserSpringSecurity principal = (UserSpringSecurity) user;
+    this.userRepository.updatePassword(principal.getId(), newPassword);
+
+    return new UserSpringSecurity(
+      principal.getId(),
+      principal.getName(),
+      principal.getUsername(),
+      newPassword,
+      principal.getTokenVersion()
+    );
+  }
+
+  public UserSpringSecurity getUserDetailsByEmail(String email) throws UsernameNotFoundException {
     Optional<User> optionalUser = this.userRepository.findByEmail(email);
 
     if(optionalUser.isEmpty()) {
       throw new UsernameNotFoundException("Usuário inválido");
     }
 
-    User user = optionalUser.get();
+    return this.toUserDetails(optionalUser.get());
+  }
 
-    return new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
+  public UserSpringSecurity getUserDetailsById(String id) throws UsernameNotFoundException {
+    return this.userRepository.findById(id)
+      .map(this::toUserDetails)
+      .orElseThrow(() -> new UsernameNotFoundException("Usuário inválido"));
   }
 
+  private UserSpringSecurity toUserDetails(User user) {
+    return new UserSpringSecurity(
+      user.getId(),
+      user.getName(),
+      user.getEmail(),
+      user.getPassword(),
+      user.getTokenVersion()
+    );
+  }
+
+  // The principal SecurityFilter put in the context, or null for an anonymous request
   public static UserSpringSecurity getAuthentication() {
-    return (UserSpringSecurity) SecurityContextHolder
-      .getContext()
-      .getAuthentication()
-      .getPrincipal();
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if(authentication != null && authentication.getPrincipal() instanceof UserSpringSecurity user) {
+      return user;
+    }
+    return null;
   }
 }
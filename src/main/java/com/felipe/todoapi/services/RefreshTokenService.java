@@ -0,0 +1,127 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import com.felipe.todoapi.models.RefreshToken;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.RefreshTokenRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+  private static final int TOKEN_BYTES = 32;
+  private static final String INVALID_TOKEN_MESSAGE = "Refresh token inválido, expirado ou revogado";
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final UserRepository userRepository;
+  private final Duration ttl;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public RefreshTokenService(
+    RefreshTokenRepository refreshTokenRepository,
+    UserRepository userRepository,
+    @Value("${api.security.token.refresh-ttl:30d}") Duration ttl
+  ) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.ttl = ttl;
+  }
+
+  // Starts a new family; the user is referenced by id only, so login pays one INSERT and no SELECT. The token
+  // version comes from the principal authenticated at login
+  public String issue(String userId, int tokenVersion) {
+    return this.issue(this.userRepository.getReferenceById(userId), tokenVersion, UUID.randomUUID().toString());
+  }
+
+  // One indexed lookup by hash (joined with the user for the new access token), one conditional UPDATE and
+  // one INSERT. Presenting an already used token is treated as theft: the whole family is revoked. So is a token
+  // issued under an older users.token_version, which otherwise would keep minting access tokens after the bump
+  @Transactional(noRollbackFor = BadCredentialsException.class)
+  public Rotation rotate(String rawToken) throws BadCredentialsException {
+    RefreshToken current = this.refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+      .orElseThrow(() -> new BadCredentialsException(INVALID_TOKEN_MESSAGE));
+
+    if(current.isRevoked() || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+      throw new BadCredentialsException(INVALID_TOKEN_MESSAGE);
+    }
+
+    User user = current.getUser();
+
+    if(!current.getTokenVersion().equals(user.getTokenVersion())
+      || current.isUsed()
+      || this.refreshTokenRepository.markUsed(current.getId()) == 0) {
+      this.refreshTokenRepository.revokeFamily(current.getFamilyId());
+      throw new BadCredentialsException(INVALID_TOKEN_MESSAGE);
+    }
+
+    String refreshToken = this.issue(user, user.getTokenVersion(), current.getFamilyId());
+    UserSpringSecurity principal = new UserSpringSecurity(
+      user.getId(),
+      user.getName(),
+      user.getEmail(),
+      null,
+      user.getTokenVersion()
+    );
+
+    return new Rotation(principal, refreshToken);
+  }
+
+  // Ends the session the token belongs to: every token of its family is revoked. A token that is unknown or
+  // belongs to another user is rejected; an already revoked one still matches, so logging out twice is harmless
+  public void revokeFamily(String rawToken, String userId) throws BadCredentialsException {
+    String familyId = this.refreshTokenRepository.findFamilyIdByTokenHashAndUserId(hash(rawToken), userId)
+      .orElseThrow(() -> new BadCredentialsException(INVALID_TOKEN_MESSAGE));
+
+    this.refreshTokenRepository.revokeFamily(familyId);
+  }
+
+  // Every rotation leaves a used row behind. Rows past expires_at can no longer be presented, nor matter for
+  // reuse detection, so they are removed on a schedule; runs once at startup and then every prune-interval
+  @Scheduled(fixedDelayString = "${api.security.token.refresh-prune-interval:PT1H}")
+  public void pruneExpired() {
+    int pruned = this.refreshTokenRepository.deleteExpired(LocalDateTime.now());
+
+    if(pruned > 0) {
+      logger.debug("{} refresh tokens expirados removidos", pruned);
+    }
+  }
+
+  private String issue(User user, int tokenVersion, String familyId) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    this.secureRandom.nextBytes(bytes);
+    String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    this.refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, user, tokenVersion, LocalDateTime.now().plus(this.ttl)));
+
+    return rawToken;
+  }
+
+  static String hash(String rawToken) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public record Rotation(UserSpringSecurity principal, String refreshToken) {}
+}
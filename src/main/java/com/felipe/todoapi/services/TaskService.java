@@ -1,23 +1,44 @@
 package com.felipe.todoapi.services;
 
+import com.felipe.todoapi.dtos.TaskBatchItemResultDTO;
+import com.felipe.todoapi.dtos.TaskBatchUpdateDTO;
+import com.felipe.todoapi.dtos.TaskBulkResultDTO;
+import com.felipe.todoapi.dtos.TaskBulkUpdateDTO;
 import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskPageResponseDTO;
 import com.felipe.todoapi.dtos.TaskResponseDTO;
 import com.felipe.todoapi.dtos.TaskUpdateDTO;
 import com.felipe.todoapi.dtos.mappers.TaskMapper;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
+import com.felipe.todoapi.infra.cache.TaskListCache;
 import com.felipe.todoapi.infra.security.UserSpringSecurity;
 import com.felipe.todoapi.models.Task;
 import com.felipe.todoapi.models.User;
 import com.felipe.todoapi.repositories.TaskRepository;
 import com.felipe.todoapi.repositories.UserRepository;
+import com.felipe.todoapi.utils.CustomValidationErrors;
+import com.felipe.todoapi.utils.TaskCursor;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -25,14 +46,24 @@ public class TaskService {
   private final TaskRepository taskRepository;
   private final UserRepository userRepository;
   private final TaskMapper taskMapper;
-
-  public TaskService(TaskRepository taskRepository, UserRepository userRepository, TaskMapper taskMapper) {
+  private final TaskListCache taskListCache;
+  private final Validator validator;
+
+  public TaskService(
+    TaskRepository taskRepository,
+    UserRepository userRepository,
+    TaskMapper taskMapper,
+    TaskListCache taskListCache,
+    Validator validator
+  ) {
     this.taskRepository = taskRepository;
     this.userRepository = userRepository;
     this.taskMapper = taskMapper;
+    this.taskListCache = taskListCache;
+    this.validator = validator;
   }
 
-  public List<TaskResponseDTO> getAllUserTasks(String field, String order) throws AccessDeniedException {
+  public TaskPageResponseDTO getAllUserTasks(String field, String order, String cursor, int size) throws AccessDeniedException {
     UserSpringSecurity authUser = AuthorizationService.getAuthentication();
 
     if(authUser == null) {
@@ -40,23 +71,33 @@ public class TaskService {
     }
 
     String[] sortFilter = this.getSortFilter(field, order);
-    Sort sortOrder = Sort.by(Sort.Direction.fromString(sortFilter[1]), sortFilter[0]);
+    String sortField = sortFilter[0];
+    Sort.Direction direction = Sort.Direction.fromString(sortFilter[1]);
+    TaskCursor after = this.decodeCursor(cursor, sortField, direction);
 
-    List<Task> userTasks = this.taskRepository.findAllByUserId(authUser.getId(), sortOrder);
+    // One extra row tells whether there is a next page without a count query
+    List<TaskResponseDTO> userTasks = this.taskRepository.findPageByUserId(authUser.getId(), sortField, direction, after, size + 1);
 
-    return userTasks.stream().map(this.taskMapper::toDTO).toList();
+    return this.toPage(userTasks, size, sortField, direction);
   }
 
-  public List<TaskResponseDTO> getAllDoneOrNotDoneTasks(String status) throws AccessDeniedException {
+  public TaskPageResponseDTO getAllDoneOrNotDoneTasks(String status, String cursor, int size) throws AccessDeniedException {
     UserSpringSecurity authUser = AuthorizationService.getAuthentication();
 
     if(authUser == null) {
       throw new AccessDeniedException("Acesso negado");
     }
 
-    List<Task> tasks = this.taskRepository.findAllDoneOrNotDone(authUser.getId(), Boolean.parseBoolean(status));
+    TaskCursor after = this.decodeCursor(cursor, "updatedAt", Sort.Direction.DESC);
+
+    List<TaskResponseDTO> tasks = this.taskRepository.findDoneOrNotDonePageByUserId(
+      authUser.getId(),
+      Boolean.parseBoolean(status),
+      after,
+      size + 1
+    );
 
-    return tasks.stream().map(this.taskMapper::toDTO).toList();
+    return this.toPage(tasks, size, "updatedAt", Sort.Direction.DESC);
   }
 
   public TaskResponseDTO create(@Valid @NotNull TaskCreateDTO task) throws AccessDeniedException {
@@ -76,60 +117,172 @@ public class TaskService {
     newTask.setUser(user);
 
     Task createdTask = this.taskRepository.save(newTask);
+    this.taskListCache.invalidate(authUser.getId());
 
     return this.taskMapper.toDTO(createdTask);
   }
 
-  public TaskResponseDTO findById(@NotNull @NotBlank String id) throws AccessDeniedException {
+  // Invalid items are reported and skipped; the valid ones share one user lookup and one transaction, and
+  // Hibernate sends their INSERTs as JDBC batches (hibernate.jdbc.batch_size)
+  @Transactional
+  public List<TaskBatchItemResultDTO> createBatch(@NotNull List<TaskCreateDTO> tasks) throws AccessDeniedException {
     UserSpringSecurity authUser = AuthorizationService.getAuthentication();
 
     if(authUser == null) {
       throw new AccessDeniedException("Acesso negado");
     }
 
-    Task task = this.taskRepository.findById(id)
-      .orElseThrow(() -> new RecordNotFoundException("Tarefa não encontrada"));
+    TaskBatchItemResultDTO[] results = new TaskBatchItemResultDTO[tasks.size()];
+    List<Task> newTasks = new ArrayList<>(tasks.size());
+    List<Integer> positions = new ArrayList<>(tasks.size());
+
+    for(int i = 0; i < tasks.size(); i++) {
+      List<CustomValidationErrors> errors = this.validate(tasks.get(i));
+
+      if(!errors.isEmpty()) {
+        results[i] = TaskBatchItemResultDTO.failure(i, HttpStatus.UNPROCESSABLE_ENTITY, errors);
+        continue;
+      }
+
+      TaskCreateDTO task = tasks.get(i);
+      Task newTask = new Task();
+      newTask.setTitle(task.title());
+      newTask.setDescription(task.description());
+      newTask.setPriority(this.taskMapper.convertPriorityLevelValue(task.priority()));
+      newTasks.add(newTask);
+      positions.add(i);
+    }
 
-    if(!task.getUser().getId().equals(authUser.getId())) {
-      throw new AccessDeniedException("Acesso negado");
+    if(!newTasks.isEmpty()) {
+      User user = this.userRepository.findById(authUser.getId())
+        .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
+      newTasks.forEach(newTask -> newTask.setUser(user));
+
+      List<Task> createdTasks = this.taskRepository.saveAll(newTasks);
+      this.taskListCache.invalidateAfterCommit(authUser.getId());
+
+      for(int i = 0; i < createdTasks.size(); i++) {
+        int index = positions.get(i);
+        results[index] = TaskBatchItemResultDTO.success(index, HttpStatus.CREATED, this.taskMapper.toDTO(createdTasks.get(i)));
+      }
     }
 
-    return this.taskMapper.toDTO(task);
+    return Arrays.asList(results);
   }
 
-  public TaskResponseDTO update(@NotNull @NotBlank String id, @Valid TaskUpdateDTO task) throws AccessDeniedException {
+  // One transaction: a single query loads every target the caller owns, the changes are applied to the managed
+  // entities and the flush sends the UPDATEs as JDBC batches. Ids that matched nothing cost one more query to tell
+  // someone else's task (403) from a missing one (404)
+  @Transactional
+  public List<TaskBatchItemResultDTO> updateBatch(@NotNull List<TaskBatchUpdateDTO> tasks) throws AccessDeniedException {
     UserSpringSecurity authUser = AuthorizationService.getAuthentication();
 
     if(authUser == null) {
       throw new AccessDeniedException("Acesso negado");
     }
 
-    return this.taskRepository.findById(id)
-      .map(taskFound -> {
-        if(!taskFound.getUser().getId().equals(authUser.getId())) {
-          throw new AccessDeniedException("Acesso negado");
-        }
+    TaskBatchItemResultDTO[] results = new TaskBatchItemResultDTO[tasks.size()];
+    Set<String> ids = new LinkedHashSet<>();
 
-        if(task.title() != null) {
-          taskFound.setTitle(task.title());
-        }
+    for(int i = 0; i < tasks.size(); i++) {
+      List<CustomValidationErrors> errors = this.validate(tasks.get(i));
 
-        if(task.description() != null) {
-          taskFound.setDescription(task.description());
-        }
+      if(!errors.isEmpty()) {
+        results[i] = TaskBatchItemResultDTO.failure(i, HttpStatus.UNPROCESSABLE_ENTITY, errors);
+      } else {
+        ids.add(tasks.get(i).id());
+      }
+    }
 
-        if(task.priority() != null) {
-          taskFound.setPriority(this.taskMapper.convertPriorityLevelValue(task.priority()));
-        }
+    if(ids.isEmpty()) {
+      return Arrays.asList(results);
+    }
 
-        if(task.isDone() != null) {
-          taskFound.setIsDone(task.isDone());
-        }
+    Map<String, Task> owned = this.taskRepository.findAllByIdInAndUserId(ids, authUser.getId())
+      .stream()
+      .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+    Set<String> notOwned = new HashSet<>(ids);
+    notOwned.removeAll(owned.keySet());
+    Set<String> foreign = notOwned.isEmpty() ? Set.of() : new HashSet<>(this.taskRepository.findExistingIds(notOwned));
+
+    for(int i = 0; i < tasks.size(); i++) {
+      if(results[i] != null) {
+        continue;
+      }
+
+      String id = tasks.get(i).id();
+      Task task = owned.get(id);
+
+      if(task != null) {
+        this.applyChanges(task, tasks.get(i).task());
+      } else if(foreign.contains(id)) {
+        results[i] = TaskBatchItemResultDTO.failure(
+          i,
+          HttpStatus.FORBIDDEN,
+          List.of(new CustomValidationErrors("id", id, "Acesso negado"))
+        );
+      } else {
+        results[i] = TaskBatchItemResultDTO.failure(
+          i,
+          HttpStatus.NOT_FOUND,
+          List.of(new CustomValidationErrors("id", id, "Tarefa não encontrada"))
+        );
+      }
+    }
+
+    if(!owned.isEmpty()) {
+      this.taskRepository.flush();
+      this.taskListCache.invalidateAfterCommit(authUser.getId());
+    }
 
-        Task updatedTask = this.taskRepository.save(taskFound);
+    for(int i = 0; i < tasks.size(); i++) {
+      if(results[i] == null) {
+        results[i] = TaskBatchItemResultDTO.success(i, HttpStatus.OK, this.taskMapper.toDTO(owned.get(tasks.get(i).id())));
+      }
+    }
+
+    return Arrays.asList(results);
+  }
 
-        return this.taskMapper.toDTO(updatedTask);
-      })
+  public TaskResponseDTO findById(@NotNull @NotBlank String id) throws AccessDeniedException {
+    UserSpringSecurity authUser = AuthorizationService.getAuthentication();
+
+    if(authUser == null) {
+      throw new AccessDeniedException("Acesso negado");
+    }
+
+    return this.taskMapper.toDTO(this.findOwned(id, authUser.getId()));
+  }
+
+  public TaskResponseDTO update(@NotNull @NotBlank String id, @Valid TaskUpdateDTO task) throws AccessDeniedException {
+    UserSpringSecurity authUser = AuthorizationService.getAuthentication();
+
+    if(authUser == null) {
+      throw new AccessDeniedException("Acesso negado");
+    }
+
+    // Nothing to change: only the ownership check, so updated_at and the cached pages stay as they are
+    if(task.title() == null && task.description() == null && task.priority() == null && task.isDone() == null) {
+      return this.taskMapper.toDTO(this.findOwned(id, authUser.getId()));
+    }
+
+    int updatedRows = this.taskRepository.updateByIdAndUserId(
+      id,
+      authUser.getId(),
+      task.title(),
+      task.description(),
+      this.taskMapper.convertPriorityLevelValue(task.priority()),
+      task.isDone(),
+      LocalDateTime.now()
+    );
+
+    if(updatedRows == 0) {
+      throw this.scopedMutationFailure(id);
+    }
+    this.taskListCache.invalidate(authUser.getId());
+
+    return this.taskRepository.findResponseById(id)
       .orElseThrow(() -> new RecordNotFoundException("Tarefa não encontrada"));
   }
 
@@ -140,14 +293,140 @@ public class TaskService {
       throw new AccessDeniedException("Acesso negado");
     }
 
+    if(this.taskRepository.deleteByIdAndUserId(id, authUser.getId()) == 0) {
+      throw this.scopedMutationFailure(id);
+    }
+    this.taskListCache.invalidate(authUser.getId());
+  }
+
+  // One UPDATE for every task of the user matching the filters; null filters match anything
+  public TaskBulkResultDTO updateMatching(String status, String priority, @Valid @NotNull TaskBulkUpdateDTO changes)
+    throws AccessDeniedException {
+    UserSpringSecurity authUser = AuthorizationService.getAuthentication();
+
+    if(authUser == null) {
+      throw new AccessDeniedException("Acesso negado");
+    }
+
+    int updatedRows = this.taskRepository.updateMatchingByUserId(
+      authUser.getId(),
+      status == null ? null : Boolean.parseBoolean(status),
+      this.taskMapper.convertPriorityLevelValue(priority),
+      this.taskMapper.convertPriorityLevelValue(changes.priority()),
+      changes.isDone(),
+      LocalDateTime.now()
+    );
+
+    if(updatedRows > 0) {
+      this.taskListCache.invalidate(authUser.getId());
+    }
+
+    return new TaskBulkResultDTO(updatedRows);
+  }
+
+  // One DELETE for every task of the user matching the filters; null filters match anything
+  public TaskBulkResultDTO deleteMatching(String status, String priority) throws AccessDeniedException {
+    UserSpringSecurity authUser = AuthorizationService.getAuthentication();
+
+    if(authUser == null) {
+      throw new AccessDeniedException("Acesso negado");
+    }
+
+    int deletedRows = this.taskRepository.deleteMatchingByUserId(
+      authUser.getId(),
+      status == null ? null : Boolean.parseBoolean(status),
+      this.taskMapper.convertPriorityLevelValue(priority)
+    );
+
+    if(deletedRows > 0) {
+      this.taskListCache.invalidate(authUser.getId());
+    }
+
+    return new TaskBulkResultDTO(deletedRows);
+  }
+
+  private Task findOwned(String id, String userId) {
     Task task = this.taskRepository.findById(id)
       .orElseThrow(() -> new RecordNotFoundException("Tarefa não encontrada"));
 
-    if(!task.getUser().getId().equals(authUser.getId())) {
+    if(!task.getUserId().equals(userId)) {
       throw new AccessDeniedException("Acesso negado");
     }
 
-    this.taskRepository.deleteById(task.getId());
+    return task;
+  }
+
+  // Only reached when the owner-scoped statement matched no row: tells a missing task from someone else's
+  private RuntimeException scopedMutationFailure(String id) {
+    if(this.taskRepository.existsById(id)) {
+      return new AccessDeniedException("Acesso negado");
+    }
+    return new RecordNotFoundException("Tarefa não encontrada");
+  }
+
+  private void applyChanges(Task task, TaskUpdateDTO changes) {
+    if(changes.title() != null) {
+      task.setTitle(changes.title());
+    }
+
+    if(changes.description() != null) {
+      task.setDescription(changes.description());
+    }
+
+    if(changes.priority() != null) {
+      task.setPriority(this.taskMapper.convertPriorityLevelValue(changes.priority()));
+    }
+
+    if(changes.isDone() != null) {
+      task.setIsDone(changes.isDone());
+    }
+  }
+
+  private List<CustomValidationErrors> validate(Object item) {
+    if(item == null) {
+      return List.of(new CustomValidationErrors(null, null, "O item do lote não pode ser nulo"));
+    }
+
+    Set<ConstraintViolation<Object>> violations = this.validator.validate(item);
+    return violations.stream()
+      .map(violation -> new CustomValidationErrors(
+        violation.getPropertyPath().toString(),
+        violation.getInvalidValue(),
+        violation.getMessage()
+      )).toList();
+  }
+
+  private TaskCursor decodeCursor(String cursor, String field, Sort.Direction direction) {
+    if(cursor == null || cursor.isBlank()) {
+      return null;
+    }
+
+    TaskCursor after = TaskCursor.decode(cursor);
+
+    if(!after.field().equals(field) || after.direction() != direction) {
+      throw new IllegalArgumentException("O cursor não corresponde à ordenação solicitada");
+    }
+
+    return after;
+  }
+
+  private TaskPageResponseDTO toPage(List<TaskResponseDTO> tasks, int size, String field, Sort.Direction direction) {
+    boolean hasNext = tasks.size() > size;
+    List<TaskResponseDTO> page = hasNext ? tasks.subList(0, size) : tasks;
+    String nextCursor = hasNext ? this.buildCursor(field, direction, page.get(page.size() - 1)).encode() : null;
+
+    return new TaskPageResponseDTO(page, nextCursor);
+  }
+
+  private TaskCursor buildCursor(String field, Sort.Direction direction, TaskResponseDTO task) {
+    String value = switch(field) {
+      case "title" -> task.title();
+      case "priority" -> this.taskMapper.convertPriorityLevelValue(task.priority()).getLevel();
+      case "createdAt" -> task.createdAt().toString();
+      case "updatedAt" -> task.updatedAt().toString();
+      default -> throw new IllegalArgumentException("Campo de ordenação inválido: " + field);
+    };
+    return new TaskCursor(field, direction, value, task.id());
   }
 
   private String[] getSortFilter(String field, String order) {
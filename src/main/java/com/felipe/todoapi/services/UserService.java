@@ -2,22 +2,33 @@ package com.felipe.todoapi.services;
 
 import com.felipe.todoapi.dtos.LoginDTO;
 import com.felipe.todoapi.dtos.LoginResponseDTO;
+import com.felipe.todoapi.dtos.RefreshTokenDTO;
+import com.felipe.todoapi.dtos.TokenResponseDTO;
 import com.felipe.todoapi.dtos.UserRegisterDTO;
 import com.felipe.todoapi.dtos.UserResponseDTO;
+import com.felipe.todoapi.exceptions.LoginLockedException;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
 import com.felipe.todoapi.exceptions.UserAlreadyExistsException;
+import com.felipe.todoapi.infra.cache.TaskListCache;
+import com.felipe.todoapi.infra.security.LoginThrottle;
+import com.felipe.todoapi.infra.security.PrincipalCache;
+import com.felipe.todoapi.infra.security.TokenRevocationList;
 import com.felipe.todoapi.infra.security.TokenService;
 import com.felipe.todoapi.infra.security.UserSpringSecurity;
 import com.felipe.todoapi.models.User;
 import com.felipe.todoapi.repositories.UserRepository;
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -26,51 +37,115 @@ public class UserService {
   private final UserRepository userRepository;
   private final AuthenticationManager authenticationManager;
   private final TokenService tokenService;
+  private final PrincipalCache principalCache;
+  private final AccountDeletionService accountDeletionService;
+  private final PasswordEncoder passwordEncoder;
+  private final RefreshTokenService refreshTokenService;
+  private final TokenRevocationList tokenRevocationList;
+  private final LoginThrottle loginThrottle;
+  private final TaskListCache taskListCache;
 
   public UserService(
     UserRepository userRepository,
     AuthenticationManager authenticationManager,
-    TokenService tokenService
+    TokenService tokenService,
+    PrincipalCache principalCache,
+    AccountDeletionService accountDeletionService,
+    PasswordEncoder passwordEncoder,
+    RefreshTokenService refreshTokenService,
+    TokenRevocationList tokenRevocationList,
+    LoginThrottle loginThrottle,
+    TaskListCache taskListCache
   ) {
     this.userRepository = userRepository;
     this.authenticationManager = authenticationManager;
     this.tokenService = tokenService;
+    this.principalCache = principalCache;
+    this.accountDeletionService = accountDeletionService;
+    this.passwordEncoder = passwordEncoder;
+    this.refreshTokenService = refreshTokenService;
+    this.tokenRevocationList = tokenRevocationList;
+    this.loginThrottle = loginThrottle;
+    this.taskListCache = taskListCache;
   }
 
   public UserResponseDTO register(@Valid @NotNull UserRegisterDTO user) throws UserAlreadyExistsException {
-    if(this.userRepository.findByEmail(user.email()).isPresent()) {
-      throw new UserAlreadyExistsException("E-mail já cadastrado!");
-    }
+    // Hashed before the insert opens a transaction, so no connection or row lock is held during BCrypt
+    String encryptedPassword = this.passwordEncoder.encode(user.password());
 
-      String encryptedPassword = new BCryptPasswordEncoder().encode(user.password());
+    User newUser = new User(user.name(), user.email(), encryptedPassword);
+    User createdUser;
 
-      User newUser = new User(user.name(), user.email(), encryptedPassword);
-      User createdUser = this.userRepository.save(newUser);
+    // A single INSERT: the uk_users_email constraint settles concurrent signups for the same address. Any other
+    // violation (a null column, an oversized value) is not a duplicate and propagates as is
+    try {
+      createdUser = this.userRepository.saveAndFlush(newUser);
+    } catch(DataIntegrityViolationException e) {
+      if(isEmailConstraintViolation(e)) {
+        throw new UserAlreadyExistsException("E-mail já cadastrado!");
+      }
+      throw e;
+    }
 
-      return new UserResponseDTO(
-        createdUser.getId(),
-        createdUser.getName(),
-        createdUser.getEmail(),
-        createdUser.getCreatedAt()
-      );
+    return new UserResponseDTO(
+      createdUser.getId(),
+      createdUser.getName(),
+      createdUser.getEmail(),
+      createdUser.getCreatedAt()
+    );
   }
 
-  public LoginResponseDTO login(@Valid @NotNull LoginDTO login) throws BadCredentialsException {
+  public LoginResponseDTO login(
+    @Valid @NotNull LoginDTO login,
+    String address
+  ) throws BadCredentialsException, LoginLockedException {
+    this.loginThrottle.acquire(login.email(), address);
+    Authentication auth;
+
     try {
       var usernamePassword = new UsernamePasswordAuthenticationToken(login.email(), login.password());
-      var auth = this.authenticationManager.authenticate(usernamePassword);
-      String token = this.tokenService.generateToken((UserSpringSecurity) auth.getPrincipal());
-
-      return this.userRepository.findByEmail(login.email())
-        .map(userFound -> new LoginResponseDTO(
-          userFound.getId(),
-          userFound.getName(),
-          userFound.getEmail(),
-          token
-        )).orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
-
+      auth = this.authenticationManager.authenticate(usernamePassword);
     } catch(BadCredentialsException e) {
+      // acquire already counted the attempt as a failure
       throw new BadCredentialsException("Usuário ou senha inválidos");
+    } catch(RuntimeException e) {
+      this.loginThrottle.release(login.email(), address);
+      throw e;
+    }
+    this.loginThrottle.recordSuccess(login.email(), address);
+
+    // The principal loaded during authentication already carries id and name: no second users lookup
+    UserSpringSecurity principal = (UserSpringSecurity) auth.getPrincipal();
+    String token = this.tokenService.generateToken(principal);
+    String refreshToken = this.refreshTokenService.issue(principal.getId(), principal.getTokenVersion());
+
+    return new LoginResponseDTO(principal.getId(), principal.getName(), principal.getUsername(), token, refreshToken);
+  }
+
+  // Renews the session without BCrypt: a SHA-256, one indexed lookup and an HMAC signature
+  public TokenResponseDTO refresh(@Valid @NotNull RefreshTokenDTO refresh) throws BadCredentialsException {
+    RefreshTokenService.Rotation rotation = this.refreshTokenService.rotate(refresh.refreshToken());
+    String token = this.tokenService.generateToken(rotation.principal());
+
+    return new TokenResponseDTO(token, rotation.refreshToken());
+  }
+
+  // Revokes the access token used on this request until it expires and, when the client sends its refresh token,
+  // the refresh token family so the session cannot be renewed. Access tokens issued before jti was added cannot be
+  // revoked one by one and simply run out their TTL
+  public void logout(@Valid @Nullable RefreshTokenDTO refresh) throws AccessDeniedException, BadCredentialsException {
+    UserSpringSecurity authUser = AuthorizationService.getAuthentication();
+
+    if(authUser == null) {
+      throw new AccessDeniedException("Acesso negado");
+    }
+
+    if(authUser.getTokenId() != null) {
+      this.tokenRevocationList.revoke(authUser.getTokenId(), authUser.getTokenExpiresAt());
+    }
+
+    if(refresh != null) {
+      this.refreshTokenService.revokeFamily(refresh.refreshToken(), authUser.getId());
     }
   }
 
@@ -98,9 +173,26 @@ public class UserService {
       throw new AccessDeniedException("Acesso negado");
     }
 
-    User user = this.userRepository.findById(id)
-      .orElseThrow(() -> new RecordNotFoundException("Usuário não encontrado"));
+    if(!this.userRepository.existsById(id)) {
+      throw new RecordNotFoundException("Usuário não encontrado");
+    }
+
+    this.accountDeletionService.deleteAccount(id);
+    this.principalCache.invalidate(id);
+    this.taskListCache.invalidate(id);
+  }
+
+  // Hibernate cannot extract the constraint name from a failed JDBC batch, so the driver message is the fallback.
+  // Postgres reports the bare name and H2 decorates it, hence the case-insensitive contains
+  private static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+    if(!(e.getCause() instanceof ConstraintViolationException violation)) {
+      return false;
+    }
+
+    String constraint = violation.getConstraintName() != null
+      ? violation.getConstraintName()
+      : e.getMostSpecificCause().getMessage();
 
-    this.userRepository.deleteById(user.getId());
+    return constraint != null && constraint.toLowerCase().contains(User.EMAIL_CONSTRAINT);
   }
 }
@@ -0,0 +1,31 @@
+package com.felipe.todoapi.utils;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record TaskCursor(String field, Sort.Direction direction, String value, String id) {
+
+  private static final String SEPARATOR = "|";
+
+  public String encode() {
+    String raw = String.join(SEPARATOR, this.field, this.direction.name(), this.id, this.value);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static TaskCursor decode(String cursor) throws IllegalArgumentException {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, 4);
+
+      if(parts.length != 4) {
+        throw new IllegalArgumentException("Cursor inválido");
+      }
+
+      return new TaskCursor(parts[0], Sort.Direction.fromString(parts[1]), parts[3], parts[2]);
+    } catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido");
+    }
+  }
+}
@@ -0,0 +1,24 @@
+-- Schema ddl-auto=update generated before the migrations existed. Existing databases are baselined at this version.
+-- The constraints carry the names PostgreSQL and Hibernate gave them there, so V1 renames the same ones on both paths
+CREATE TABLE users (
+  id VARCHAR(255) NOT NULL,
+  name VARCHAR(15) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  CONSTRAINT users_pkey PRIMARY KEY (id),
+  CONSTRAINT users_email_key UNIQUE (email)
+);
+
+CREATE TABLE task (
+  id VARCHAR(255) NOT NULL,
+  title VARCHAR(60) NOT NULL,
+  description VARCHAR(100),
+  priority VARCHAR(5) NOT NULL,
+  is_done BOOLEAN NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  updated_at TIMESTAMP(3) NOT NULL,
+  user_id VARCHAR(255) NOT NULL,
+  CONSTRAINT task_pkey PRIMARY KEY (id),
+  CONSTRAINT fkbhwpp8tr117vvbxhf5sbkdkc9 FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,33 @@
+-- Everything added on top of the baseline schema. The email constraint gets the name UserService matches on
+ALTER TABLE users RENAME CONSTRAINT users_email_key TO uk_users_email;
+ALTER TABLE task RENAME CONSTRAINT fkbhwpp8tr117vvbxhf5sbkdkc9 TO fk_task_user;
+
+ALTER TABLE users ADD COLUMN token_version INTEGER DEFAULT 0 NOT NULL;
+
+CREATE INDEX idx_task_user_done_updated ON task (user_id, is_done, updated_at DESC, id);
+
+CREATE TABLE refresh_token (
+  id VARCHAR(255) NOT NULL,
+  token_hash VARCHAR(64) NOT NULL,
+  family_id VARCHAR(36) NOT NULL,
+  user_id VARCHAR(255) NOT NULL,
+  expires_at TIMESTAMP(3) NOT NULL,
+  used BOOLEAN NOT NULL,
+  revoked BOOLEAN NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  CONSTRAINT pk_refresh_token PRIMARY KEY (id),
+  CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+  CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX idx_refresh_token_user ON refresh_token (user_id);
+
+CREATE TABLE revoked_token (
+  token_id VARCHAR(36) NOT NULL,
+  expires_at TIMESTAMP(3) NOT NULL,
+  created_at TIMESTAMP(3) NOT NULL,
+  CONSTRAINT pk_revoked_token PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revoked_token_expires ON revoked_token (expires_at);
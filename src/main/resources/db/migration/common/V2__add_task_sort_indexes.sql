@@ -0,0 +1,7 @@
+-- One index per sortable field of GET /api/task. Keyset pages filter by user_id and order by (field, id)
+-- in the same direction, so a single ascending index serves both ASC and DESC through a backward scan.
+-- They also cover the user_id lookups of account deletion; GET /api/task/done stays on idx_task_user_done_updated
+CREATE INDEX IF NOT EXISTS idx_task_user_created ON task (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_updated ON task (user_id, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_title ON task (user_id, title, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_priority ON task (user_id, priority, id);
@@ -0,0 +1,2 @@
+-- Serves the scheduled prune of refresh tokens past their expiry
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires ON refresh_token (expires_at);
@@ -0,0 +1,2 @@
+-- The users.token_version a refresh token was issued under; rows issued before this column read as version 0
+ALTER TABLE refresh_token ADD COLUMN token_version INTEGER DEFAULT 0 NOT NULL;
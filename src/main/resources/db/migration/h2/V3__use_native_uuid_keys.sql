@@ -0,0 +1,12 @@
+-- Same change as postgresql/V3; H2 converts the text values without a USING clause
+ALTER TABLE task DROP CONSTRAINT fk_task_user;
+ALTER TABLE refresh_token DROP CONSTRAINT fk_refresh_token_user;
+
+ALTER TABLE users ALTER COLUMN id SET DATA TYPE UUID;
+ALTER TABLE task ALTER COLUMN id SET DATA TYPE UUID;
+ALTER TABLE task ALTER COLUMN user_id SET DATA TYPE UUID;
+ALTER TABLE refresh_token ALTER COLUMN id SET DATA TYPE UUID;
+ALTER TABLE refresh_token ALTER COLUMN user_id SET DATA TYPE UUID;
+
+ALTER TABLE task ADD CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE refresh_token ADD CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,14 @@
+-- varchar(255) keys become 16-byte uuid columns. The foreign keys are dropped while the key types change
+ALTER TABLE task DROP CONSTRAINT fk_task_user;
+ALTER TABLE refresh_token DROP CONSTRAINT fk_refresh_token_user;
+
+ALTER TABLE users ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE task
+  ALTER COLUMN id TYPE uuid USING id::uuid,
+  ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+ALTER TABLE refresh_token
+  ALTER COLUMN id TYPE uuid USING id::uuid,
+  ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+
+ALTER TABLE task ADD CONSTRAINT fk_task_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE refresh_token ADD CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (id);
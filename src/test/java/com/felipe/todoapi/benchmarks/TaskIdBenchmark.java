@@ -0,0 +1,114 @@
+package com.felipe.todoapi.benchmarks;
+
+import com.felipe.todoapi.infra.persistence.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Inserts into an H2 table seeded with SEEDED_ROWS tasks, once with the previous keys (random UUID strings in a
+// varchar column) and once with time-ordered UUIDs in a native uuid column. The generator benchmarks isolate the
+// cost of producing the key. The database is file-backed so the setup can print the on-disk size of the seeded table
+// and its indexes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class TaskIdBenchmark {
+
+  private static final int SEEDED_ROWS = 200_000;
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Param({"random-varchar", "time-ordered-uuid"})
+  public String keys;
+
+  private Path directory;
+  private Connection connection;
+  private PreparedStatement insert;
+
+  @Setup
+  public void setUp() throws IOException, SQLException {
+    this.directory = Files.createTempDirectory("task-id-benchmark");
+    this.connection = DriverManager.getConnection("jdbc:h2:file:" + this.directory.resolve("tasks"), "sa", "");
+
+    try(Statement statement = this.connection.createStatement()) {
+      statement.execute(
+        "CREATE TABLE task (id " + (this.isTimeOrdered() ? "UUID" : "VARCHAR(255)") + " NOT NULL PRIMARY KEY, " +
+        "title VARCHAR(60) NOT NULL, user_id UUID NOT NULL)"
+      );
+      statement.execute("CREATE INDEX idx_task_user ON task (user_id, id)");
+    }
+
+    this.insert = this.connection.prepareStatement("INSERT INTO task (id, title, user_id) VALUES (?, ?, ?)");
+
+    for(int i = 0; i < SEEDED_ROWS; i++) {
+      this.insertTask();
+    }
+
+    try(Statement statement = this.connection.createStatement()) {
+      statement.execute("CHECKPOINT SYNC");
+
+      try(ResultSet result = statement.executeQuery("SELECT DISK_SPACE_USED('TASK')")) {
+        result.next();
+        System.out.printf("%n%s: %d KiB for %d seeded rows and their indexes%n", this.keys, result.getLong(1) / 1024, SEEDED_ROWS);
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException, SQLException {
+    this.connection.close();
+
+    try(Stream<Path> files = Files.walk(this.directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public int insertTask() throws SQLException {
+    if(this.isTimeOrdered()) {
+      this.insert.setObject(1, TimeOrderedUuidGenerator.next());
+    } else {
+      this.insert.setString(1, UUID.randomUUID().toString());
+    }
+    this.insert.setString(2, "Task");
+    this.insert.setObject(3, USER_ID);
+
+    return this.insert.executeUpdate();
+  }
+
+  @Benchmark
+  public String generateId() {
+    return this.isTimeOrdered() ? TimeOrderedUuidGenerator.next().toString() : UUID.randomUUID().toString();
+  }
+
+  private boolean isTimeOrdered() {
+    return this.keys.equals("time-ordered-uuid");
+  }
+}
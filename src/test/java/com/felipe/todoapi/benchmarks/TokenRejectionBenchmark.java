@@ -0,0 +1,99 @@
+package com.felipe.todoapi.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.exceptions.InvalidTokenException;
+import com.felipe.todoapi.infra.security.TokenService;
+import com.felipe.todoapi.utils.CustomResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Rejected tokens per second per core: the previous path (library exception, wrapped in a new exception,
+// body serialized per request) against the stackless exception and the pre-serialized 401 body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class TokenRejectionBenchmark {
+
+  private static final String SECRET = "benchmark-secret";
+
+  private TokenService tokenService;
+  private JWTVerifier verifier;
+  private ObjectMapper objectMapper;
+  private byte[] preSerializedBody;
+  private String expiredToken;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    this.tokenService = new TokenService(SECRET, "k1", new String[0], Duration.ofMinutes(15));
+    this.verifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("todo-spring-api").build();
+    this.objectMapper = new ObjectMapper();
+    this.preSerializedBody = this.objectMapper.writeValueAsBytes(this.unauthorizedBody(InvalidTokenException.MESSAGE));
+    this.expiredToken = JWT.create()
+      .withKeyId("k1")
+      .withIssuer("todo-spring-api")
+      .withSubject("teste1@email.com")
+      .withClaim("uid", "01")
+      .withClaim("ver", 0)
+      .withExpiresAt(Instant.now().minusSeconds(60))
+      .sign(Algorithm.HMAC256(SECRET));
+  }
+
+  @Benchmark
+  public byte[] rejectExpiredWrappingAndSerializingPerCall() throws JsonProcessingException {
+    try {
+      this.verifier.verify(this.expiredToken);
+      return null;
+    } catch(JWTVerificationException exception) {
+      JWTVerificationException wrapped = new JWTVerificationException("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+      return this.objectMapper.writeValueAsBytes(this.unauthorizedBody(wrapped.getMessage()));
+    }
+  }
+
+  @Benchmark
+  public byte[] rejectExpiredWithStacklessException() {
+    try {
+      this.tokenService.validateToken(this.expiredToken);
+      return null;
+    } catch(InvalidTokenException exception) {
+      return this.preSerializedBody;
+    }
+  }
+
+  @Benchmark
+  public byte[] rejectMalformedWithStacklessException() {
+    try {
+      this.tokenService.validateToken("not-a-token");
+      return null;
+    } catch(InvalidTokenException exception) {
+      return this.preSerializedBody;
+    }
+  }
+
+  private CustomResponseBody<Void> unauthorizedBody(String message) {
+    return new CustomResponseBody<>(FailureResponseStatus.ERROR, HttpStatus.UNAUTHORIZED, message, null);
+  }
+}
@@ -0,0 +1,59 @@
+package com.felipe.todoapi.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.felipe.todoapi.infra.security.TokenService;
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Single-threaded, so the score reads as tokens verified per second per core
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+  private static final String SECRET = "benchmark-secret";
+
+  private TokenService tokenService;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    this.tokenService = new TokenService(SECRET, "k1", new String[0], Duration.ofMinutes(15));
+    this.token = this.tokenService.generateToken(new UserSpringSecurity("01", "teste1@email.com", null, 0));
+  }
+
+  @Benchmark
+  public String verifyRebuildingAlgorithmPerCall() {
+    // Previous TokenService behaviour: new Algorithm and JWTVerifier on every call
+    Algorithm algorithm = Algorithm.HMAC256(SECRET);
+
+    return JWT.require(algorithm)
+      .withIssuer("todo-spring-api")
+      .build()
+      .verify(this.token)
+      .getSubject();
+  }
+
+  @Benchmark
+  public UserSpringSecurity verifyWithPrecomputedVerifier() {
+    return this.tokenService.validateToken(this.token);
+  }
+}
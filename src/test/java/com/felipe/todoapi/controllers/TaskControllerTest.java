@@ -1,12 +1,18 @@
 package com.felipe.todoapi.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.dtos.TaskBatchItemResultDTO;
+import com.felipe.todoapi.dtos.TaskBatchUpdateDTO;
+import com.felipe.todoapi.dtos.TaskBulkResultDTO;
+import com.felipe.todoapi.dtos.TaskBulkUpdateDTO;
 import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskPageResponseDTO;
 import com.felipe.todoapi.dtos.TaskResponseDTO;
 import com.felipe.todoapi.dtos.TaskUpdateDTO;
 import com.felipe.todoapi.enums.FailureResponseStatus;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
 import com.felipe.todoapi.services.TaskService;
+import com.felipe.todoapi.utils.CustomValidationErrors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +34,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.doNothing;
@@ -88,9 +96,10 @@ public class TaskControllerTest {
   }
 
   @Test
-  @DisplayName("getAllUserTasks - Should return a success response with all authenticated user tasks")
+  @DisplayName("getAllUserTasks - Should return a success response with the first page of authenticated user tasks")
   void getAllUserTasksSuccess() throws Exception {
-    when(this.taskService.getAllUserTasks("createdat", "asc")).thenReturn(this.tasks);
+    TaskPageResponseDTO page = new TaskPageResponseDTO(this.tasks, "nextCursor");
+    when(this.taskService.getAllUserTasks(eq("createdat"), eq("asc"), isNull(), eq(20))).thenReturn(page);
 
     TaskResponseDTO task1 = this.tasks.get(0);
     TaskResponseDTO task2 = this.tasks.get(1);
@@ -100,22 +109,37 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.status").value(FailureResponseStatus.SUCCESS.getValue()))
       .andExpect(jsonPath("$.code").value(HttpStatus.OK.value()))
       .andExpect(jsonPath("$.message").value("Todas as tarefas do usuário"))
-      .andExpect(jsonPath("$.data[0].id").value(task1.id()))
-      .andExpect(jsonPath("$.data[0].title").value(task1.title()))
-      .andExpect(jsonPath("$.data[0].description").value(task1.description()))
-      .andExpect(jsonPath("$.data[0].priority").value(task1.priority()))
-      .andExpect(jsonPath("$.data[0].isDone").value(task1.isDone()))
-      .andExpect(jsonPath("$.data[0].createdAt").value(task1.createdAt().toString()))
-      .andExpect(jsonPath("$.data[0].updatedAt").value(task1.updatedAt().toString()))
-      .andExpect(jsonPath("$.data[1].id").value(task2.id()))
-      .andExpect(jsonPath("$.data[1].title").value(task2.title()))
-      .andExpect(jsonPath("$.data[1].description").value(task2.description()))
-      .andExpect(jsonPath("$.data[1].priority").value(task2.priority()))
-      .andExpect(jsonPath("$.data[1].isDone").value(task2.isDone()))
-      .andExpect(jsonPath("$.data[1].createdAt").value(task2.createdAt().toString()))
-      .andExpect(jsonPath("$.data[1].updatedAt").value(task2.updatedAt().toString()));
-
-    verify(this.taskService, times(1)).getAllUserTasks("createdat", "asc");
+      .andExpect(jsonPath("$.data.tasks[0].id").value(task1.id()))
+      .andExpect(jsonPath("$.data.tasks[0].title").value(task1.title()))
+      .andExpect(jsonPath("$.data.tasks[0].description").value(task1.description()))
+      .andExpect(jsonPath("$.data.tasks[0].priority").value(task1.priority()))
+      .andExpect(jsonPath("$.data.tasks[0].isDone").value(task1.isDone()))
+      .andExpect(jsonPath("$.data.tasks[0].createdAt").value(task1.createdAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[0].updatedAt").value(task1.updatedAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[1].id").value(task2.id()))
+      .andExpect(jsonPath("$.data.tasks[1].title").value(task2.title()))
+      .andExpect(jsonPath("$.data.tasks[1].description").value(task2.description()))
+      .andExpect(jsonPath("$.data.tasks[1].priority").value(task2.priority()))
+      .andExpect(jsonPath("$.data.tasks[1].isDone").value(task2.isDone()))
+      .andExpect(jsonPath("$.data.tasks[1].createdAt").value(task2.createdAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[1].updatedAt").value(task2.updatedAt().toString()))
+      .andExpect(jsonPath("$.data.nextCursor").value("nextCursor"));
+
+    verify(this.taskService, times(1)).getAllUserTasks(eq("createdat"), eq("asc"), isNull(), eq(20));
+  }
+
+  @Test
+  @DisplayName("getAllUserTasks - Should forward the cursor and page size to the service")
+  void getAllUserTasksWithCursor() throws Exception {
+    TaskPageResponseDTO page = new TaskPageResponseDTO(List.of(this.tasks.get(1)), null);
+    when(this.taskService.getAllUserTasks("title", "desc", "abc", 1)).thenReturn(page);
+
+    this.mockMvc.perform(get(this.baseUrl + "?field=title&order=desc&cursor=abc&size=1").accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.tasks[0].id").value(this.tasks.get(1).id()))
+      .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+    verify(this.taskService, times(1)).getAllUserTasks("title", "desc", "abc", 1);
   }
 
   @Test
@@ -139,13 +163,20 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.data[0].rejectedValue").value("any"))
       .andExpect(jsonPath("$.data[0].message").value("Os parâmetros aceitos são: asc, desc"));
 
-    verify(this.taskService, never()).getAllUserTasks(anyString(), anyString());
+    this.mockMvc.perform(get(this.baseUrl + "?size=500").accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.message").value("Erros de restrição"))
+      .andExpect(jsonPath("$.data[0].field").value("size"))
+      .andExpect(jsonPath("$.data[0].rejectedValue").value(500))
+      .andExpect(jsonPath("$.data[0].message").value("O tamanho da página deve ser no máximo 100"));
+
+    verify(this.taskService, never()).getAllUserTasks(anyString(), anyString(), any(), anyInt());
   }
 
   @Test
   @DisplayName("getAllUserTasks - Should return an error response with a forbidden status code due to invalid authentication")
   void getAllUserTasksFailByAccessDenied() throws Exception {
-    when(this.taskService.getAllUserTasks(anyString(), anyString())).thenThrow(new AccessDeniedException("Acesso negado"));
+    when(this.taskService.getAllUserTasks(anyString(), anyString(), any(), anyInt())).thenThrow(new AccessDeniedException("Acesso negado"));
 
     this.mockMvc.perform(get(this.baseUrl).accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isForbidden())
@@ -154,13 +185,14 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.taskService, times(1)).getAllUserTasks(anyString(), anyString());
+    verify(this.taskService, times(1)).getAllUserTasks(anyString(), anyString(), any(), anyInt());
   }
 
   @Test
   @DisplayName("getAllDoneOrNotDoneTasks - Should return a success response with all done or not done user tasks")
   void getAllDoneOrNotDoneTasksSuccess() throws Exception {
-    when(this.taskService.getAllDoneOrNotDoneTasks("true")).thenReturn(this.tasks);
+    TaskPageResponseDTO page = new TaskPageResponseDTO(this.tasks, null);
+    when(this.taskService.getAllDoneOrNotDoneTasks("true", null, 20)).thenReturn(page);
 
     TaskResponseDTO task1 = this.tasks.get(0);
     TaskResponseDTO task2 = this.tasks.get(1);
@@ -170,22 +202,22 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.status").value(FailureResponseStatus.SUCCESS.getValue()))
       .andExpect(jsonPath("$.code").value(HttpStatus.OK.value()))
       .andExpect(jsonPath("$.message").value("Tarefas marcadas como feitas"))
-      .andExpect(jsonPath("$.data[0].id").value(task1.id()))
-      .andExpect(jsonPath("$.data[0].title").value(task1.title()))
-      .andExpect(jsonPath("$.data[0].description").value(task1.description()))
-      .andExpect(jsonPath("$.data[0].priority").value(task1.priority()))
-      .andExpect(jsonPath("$.data[0].isDone").value(task1.isDone()))
-      .andExpect(jsonPath("$.data[0].createdAt").value(task1.createdAt().toString()))
-      .andExpect(jsonPath("$.data[0].updatedAt").value(task1.updatedAt().toString()))
-      .andExpect(jsonPath("$.data[1].id").value(task2.id()))
-      .andExpect(jsonPath("$.data[1].title").value(task2.title()))
-      .andExpect(jsonPath("$.data[1].description").value(task2.description()))
-      .andExpect(jsonPath("$.data[1].priority").value(task2.priority()))
-      .andExpect(jsonPath("$.data[1].isDone").value(task2.isDone()))
-      .andExpect(jsonPath("$.data[1].createdAt").value(task2.createdAt().toString()))
-      .andExpect(jsonPath("$.data[1].updatedAt").value(task2.updatedAt().toString()));
-
-    verify(this.taskService, times(1)).getAllDoneOrNotDoneTasks("true");
+      .andExpect(jsonPath("$.data.tasks[0].id").value(task1.id()))
+      .andExpect(jsonPath("$.data.tasks[0].title").value(task1.title()))
+      .andExpect(jsonPath("$.data.tasks[0].description").value(task1.description()))
+      .andExpect(jsonPath("$.data.tasks[0].priority").value(task1.priority()))
+      .andExpect(jsonPath("$.data.tasks[0].isDone").value(task1.isDone()))
+      .andExpect(jsonPath("$.data.tasks[0].createdAt").value(task1.createdAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[0].updatedAt").value(task1.updatedAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[1].id").value(task2.id()))
+      .andExpect(jsonPath("$.data.tasks[1].title").value(task2.title()))
+      .andExpect(jsonPath("$.data.tasks[1].description").value(task2.description()))
+      .andExpect(jsonPath("$.data.tasks[1].priority").value(task2.priority()))
+      .andExpect(jsonPath("$.data.tasks[1].isDone").value(task2.isDone()))
+      .andExpect(jsonPath("$.data.tasks[1].createdAt").value(task2.createdAt().toString()))
+      .andExpect(jsonPath("$.data.tasks[1].updatedAt").value(task2.updatedAt().toString()));
+
+    verify(this.taskService, times(1)).getAllDoneOrNotDoneTasks("true", null, 20);
   }
 
   @Test
@@ -200,13 +232,13 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.data[0].rejectedValue").value("any"))
       .andExpect(jsonPath("$.data[0].message").value("Os parâmetros aceitos são: true, false"));
 
-    verify(this.taskService, never()).getAllDoneOrNotDoneTasks(anyString());
+    verify(this.taskService, never()).getAllDoneOrNotDoneTasks(anyString(), any(), anyInt());
   }
 
   @Test
   @DisplayName("getAllDoneOrNotDoneTasks - Should return an error response with a forbidden status code due to invalid authentication")
   void getAllDoneOrNotDoneTasksFailByAccessDenied() throws Exception {
-    when(this.taskService.getAllDoneOrNotDoneTasks(anyString())).thenThrow(new AccessDeniedException("Acesso negado"));
+    when(this.taskService.getAllDoneOrNotDoneTasks(anyString(), any(), anyInt())).thenThrow(new AccessDeniedException("Acesso negado"));
 
     this.mockMvc.perform(get(this.baseUrl + "/done").accept(MediaType.APPLICATION_JSON))
       .andExpect(status().isForbidden())
@@ -215,7 +247,7 @@ public class TaskControllerTest {
       .andExpect(jsonPath("$.message").value("Acesso negado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.taskService, times(1)).getAllDoneOrNotDoneTasks(anyString());
+    verify(this.taskService, times(1)).getAllDoneOrNotDoneTasks(anyString(), any(), anyInt());
   }
 
   @Test
@@ -301,6 +333,163 @@ public class TaskControllerTest {
     verify(this.taskService, times(1)).create(any(TaskCreateDTO.class));
   }
 
+  @Test
+  @DisplayName("createBatch - Should return a created status code when every task of the batch is created")
+  void createBatchSuccess() throws Exception {
+    List<TaskCreateDTO> batch = List.of(
+      new TaskCreateDTO("Tarefa 1", "Descrição tarefa 1", "baixa"),
+      new TaskCreateDTO("Tarefa 2", "Descrição tarefa 2", "media")
+    );
+    List<TaskBatchItemResultDTO> results = List.of(
+      TaskBatchItemResultDTO.success(0, HttpStatus.CREATED, this.tasks.get(0)),
+      TaskBatchItemResultDTO.success(1, HttpStatus.CREATED, this.tasks.get(1))
+    );
+
+    when(this.taskService.createBatch(batch)).thenReturn(results);
+
+    this.mockMvc.perform(post(this.baseUrl + "/batch")
+      .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(batch))
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isCreated())
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.SUCCESS.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.CREATED.value()))
+      .andExpect(jsonPath("$.message").value("Tarefas criadas com sucesso"))
+      .andExpect(jsonPath("$.data[0].index").value(0))
+      .andExpect(jsonPath("$.data[0].code").value(HttpStatus.CREATED.value()))
+      .andExpect(jsonPath("$.data[0].task.id").value(this.tasks.get(0).id()))
+      .andExpect(jsonPath("$.data[0].errors").doesNotExist())
+      .andExpect(jsonPath("$.data[1].task.id").value(this.tasks.get(1).id()));
+
+    verify(this.taskService, times(1)).createBatch(batch);
+  }
+
+  @Test
+  @DisplayName("createBatch - Should return a multi-status response with the errors of each rejected item")
+  void createBatchPartialSuccess() throws Exception {
+    List<TaskCreateDTO> batch = List.of(
+      new TaskCreateDTO("Tarefa 1", "Descrição tarefa 1", "baixa"),
+      new TaskCreateDTO("", null, "urgente")
+    );
+    List<TaskBatchItemResultDTO> results = List.of(
+      TaskBatchItemResultDTO.success(0, HttpStatus.CREATED, this.tasks.get(0)),
+      TaskBatchItemResultDTO.failure(
+        1,
+        HttpStatus.UNPROCESSABLE_ENTITY,
+        List.of(new CustomValidationErrors("title", "", "O título não pode estar em branco"))
+      )
+    );
+
+    when(this.taskService.createBatch(batch)).thenReturn(results);
+
+    this.mockMvc.perform(post(this.baseUrl + "/batch")
+      .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(batch))
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isMultiStatus())
+      .andExpect(jsonPath("$.code").value(HttpStatus.MULTI_STATUS.value()))
+      .andExpect(jsonPath("$.message").value("Nem todas as tarefas puderam ser criadas"))
+      .andExpect(jsonPath("$.data[0].code").value(HttpStatus.CREATED.value()))
+      .andExpect(jsonPath("$.data[1].code").value(HttpStatus.UNPROCESSABLE_ENTITY.value()))
+      .andExpect(jsonPath("$.data[1].task").doesNotExist())
+      .andExpect(jsonPath("$.data[1].errors[0].field").value("title"))
+      .andExpect(jsonPath("$.data[1].errors[0].message").value("O título não pode estar em branco"));
+  }
+
+  @Test
+  @DisplayName("createBatch - Should return an error response with a bad request status code when the batch is empty")
+  void createBatchFailByEmptyBatch() throws Exception {
+    this.mockMvc.perform(post(this.baseUrl + "/batch")
+      .contentType(MediaType.APPLICATION_JSON).content("[]")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.value()))
+      .andExpect(jsonPath("$.data[0].field").value("tasks"))
+      .andExpect(jsonPath("$.data[0].message").value("O lote deve conter entre 1 e 1000 tarefas"));
+
+    verify(this.taskService, never()).createBatch(any());
+  }
+
+  @Test
+  @DisplayName("updateBatch - Should return a multi-status response when some tasks of the batch could not be updated")
+  void updateBatchPartialSuccess() throws Exception {
+    List<TaskBatchUpdateDTO> batch = List.of(
+      new TaskBatchUpdateDTO(this.tasks.get(0).id(), new TaskUpdateDTO(null, null, null, true)),
+      new TaskBatchUpdateDTO("02", new TaskUpdateDTO(null, null, null, true))
+    );
+    List<TaskBatchItemResultDTO> results = List.of(
+      TaskBatchItemResultDTO.success(0, HttpStatus.OK, this.tasks.get(0)),
+      TaskBatchItemResultDTO.failure(1, HttpStatus.FORBIDDEN, List.of(new CustomValidationErrors("id", "02", "Acesso negado")))
+    );
+
+    when(this.taskService.updateBatch(batch)).thenReturn(results);
+
+    this.mockMvc.perform(patch(this.baseUrl + "/batch")
+      .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(batch))
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isMultiStatus())
+      .andExpect(jsonPath("$.message").value("Nem todas as tarefas puderam ser atualizadas"))
+      .andExpect(jsonPath("$.data[0].code").value(HttpStatus.OK.value()))
+      .andExpect(jsonPath("$.data[0].task.id").value(this.tasks.get(0).id()))
+      .andExpect(jsonPath("$.data[1].code").value(HttpStatus.FORBIDDEN.value()))
+      .andExpect(jsonPath("$.data[1].errors[0].message").value("Acesso negado"));
+
+    verify(this.taskService, times(1)).updateBatch(batch);
+  }
+
+  @Test
+  @DisplayName("updateMatching - Should return a success response with the number of tasks updated by the filter")
+  void updateMatchingSuccess() throws Exception {
+    TaskBulkUpdateDTO changes = new TaskBulkUpdateDTO(null, true);
+
+    when(this.taskService.updateMatching("false", "alta", changes)).thenReturn(new TaskBulkResultDTO(4));
+
+    this.mockMvc.perform(patch(this.baseUrl + "/bulk?status=false&priority=alta")
+      .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(changes))
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Tarefas atualizadas com sucesso"))
+      .andExpect(jsonPath("$.data.affected").value(4));
+
+    verify(this.taskService, times(1)).updateMatching("false", "alta", changes);
+  }
+
+  @Test
+  @DisplayName("updateMatching - Should return an unprocessable entity response when the body changes no field")
+  void updateMatchingFailByEmptyChanges() throws Exception {
+    this.mockMvc.perform(patch(this.baseUrl + "/bulk?status=false")
+      .contentType(MediaType.APPLICATION_JSON).content("{}")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isUnprocessableEntity())
+      .andExpect(jsonPath("$.code").value(HttpStatus.UNPROCESSABLE_ENTITY.value()))
+      .andExpect(jsonPath("$.message").value("Erros de validação"))
+      .andExpect(jsonPath("$.data[0].field").value("anyChange"))
+      .andExpect(jsonPath("$.data[0].message").value("Informe ao menos um campo para alterar: priority ou isDone"));
+
+    verify(this.taskService, never()).updateMatching(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("deleteMatching - Should delete the done tasks by default and return how many were deleted")
+  void deleteMatchingSuccess() throws Exception {
+    when(this.taskService.deleteMatching("true", null)).thenReturn(new TaskBulkResultDTO(7));
+
+    this.mockMvc.perform(delete(this.baseUrl + "/bulk").accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Tarefas excluídas com sucesso"))
+      .andExpect(jsonPath("$.data.affected").value(7));
+
+    verify(this.taskService, times(1)).deleteMatching("true", null);
+  }
+
+  @Test
+  @DisplayName("deleteMatching - Should return an error response with a bad request status code when a filter is invalid")
+  void deleteMatchingFailByInvalidFilter() throws Exception {
+    this.mockMvc.perform(delete(this.baseUrl + "/bulk?priority=urgente").accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.data[0].message").value("Os parâmetros aceitos são: baixa, media, alta"));
+
+    verify(this.taskService, never()).deleteMatching(any(), any());
+  }
+
   @Test
   @DisplayName("findTaskById - Should return a success response with the task found by the provided ID")
   void findTaskByIdSuccess() throws Exception {
@@ -3,10 +3,14 @@ package com.felipe.todoapi.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.felipe.todoapi.dtos.LoginDTO;
 import com.felipe.todoapi.dtos.LoginResponseDTO;
+import com.felipe.todoapi.dtos.RefreshTokenDTO;
+import com.felipe.todoapi.dtos.TokenResponseDTO;
 import com.felipe.todoapi.dtos.UserRegisterDTO;
 import com.felipe.todoapi.dtos.UserResponseDTO;
 import com.felipe.todoapi.enums.FailureResponseStatus;
+import com.felipe.todoapi.exceptions.LoginLockedException;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
+import com.felipe.todoapi.exceptions.ServiceOverloadedException;
 import com.felipe.todoapi.exceptions.UserAlreadyExistsException;
 import com.felipe.todoapi.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
@@ -27,6 +32,7 @@ import java.time.LocalDateTime;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.mockito.Mockito.when;
@@ -128,11 +134,12 @@ public class UserControllerTest {
       "01",
       "User 1",
       loginData.email(),
-      "AccessToken"
+      "AccessToken",
+      "RefreshToken"
     );
     String jsonBody = this.objectMapper.writeValueAsString(loginData);
 
-    when(this.userService.login(loginData)).thenReturn(loggedInUser);
+    when(this.userService.login(loginData, "127.0.0.1")).thenReturn(loggedInUser);
 
     this.mockMvc.perform(post(this.baseUrl + "/auth/login")
       .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
@@ -144,9 +151,10 @@ public class UserControllerTest {
       .andExpect(jsonPath("$.data.id").value(loggedInUser.id()))
       .andExpect(jsonPath("$.data.name").value(loggedInUser.name()))
       .andExpect(jsonPath("$.data.email").value(loggedInUser.email()))
-      .andExpect(jsonPath("$.data.token").value(loggedInUser.token()));
+      .andExpect(jsonPath("$.data.token").value(loggedInUser.token()))
+      .andExpect(jsonPath("$.data.refreshToken").value(loggedInUser.refreshToken()));
 
-    verify(this.userService, times(1)).login(loginData);
+    verify(this.userService, times(1)).login(loginData, "127.0.0.1");
   }
 
   @Test
@@ -161,7 +169,7 @@ public class UserControllerTest {
       .andExpect(jsonPath("$.message").value("O tipo de dado de algum campo provido é inválido ou inconsistente"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.userService, never()).login(any(LoginDTO.class));
+    verify(this.userService, never()).login(any(LoginDTO.class), anyString());
   }
 
   @Test
@@ -170,7 +178,7 @@ public class UserControllerTest {
     LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
     String jsonBody = this.objectMapper.writeValueAsString(loginData);
 
-    when(this.userService.login(loginData))
+    when(this.userService.login(loginData, "127.0.0.1"))
       .thenThrow(new BadCredentialsException("Usuário ou senha inválidos"));
 
     this.mockMvc.perform(post(this.baseUrl + "/auth/login")
@@ -182,7 +190,29 @@ public class UserControllerTest {
       .andExpect(jsonPath("$.message").value("Usuário ou senha inválidos"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.userService, times(1)).login(loginData);
+    verify(this.userService, times(1)).login(loginData, "127.0.0.1");
+  }
+
+  @Test
+  @DisplayName("userLogin - Should return a service unavailable response with a Retry-After header when password hashing is saturated")
+  void userLoginFailByHashingOverload() throws Exception {
+    LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
+    String jsonBody = this.objectMapper.writeValueAsString(loginData);
+
+    when(this.userService.login(loginData, "127.0.0.1"))
+      .thenThrow(new ServiceOverloadedException("Servidor sobrecarregado, tente novamente em instantes", 1));
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/login")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+      .andExpect(jsonPath("$.message").value("Servidor sobrecarregado, tente novamente em instantes"))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    verify(this.userService, times(1)).login(loginData, "127.0.0.1");
   }
 
   @Test
@@ -191,7 +221,7 @@ public class UserControllerTest {
     LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
     String jsonBody = this.objectMapper.writeValueAsString(loginData);
 
-    when(this.userService.login(loginData)).thenThrow(new RecordNotFoundException("Usuário não encontrado"));
+    when(this.userService.login(loginData, "127.0.0.1")).thenThrow(new RecordNotFoundException("Usuário não encontrado"));
 
     this.mockMvc.perform(post(this.baseUrl + "/auth/login")
       .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
@@ -202,7 +232,72 @@ public class UserControllerTest {
       .andExpect(jsonPath("$.message").value("Usuário não encontrado"))
       .andExpect(jsonPath("$.data").doesNotExist());
 
-    verify(this.userService, times(1)).login(loginData);
+    verify(this.userService, times(1)).login(loginData, "127.0.0.1");
+  }
+
+  @Test
+  @DisplayName("userLogin - Should return an error response with too many requests status code and Retry-After when the login is locked out")
+  void userLoginFailByLockout() throws Exception {
+    LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
+    String jsonBody = this.objectMapper.writeValueAsString(loginData);
+
+    when(this.userService.login(loginData, "127.0.0.1"))
+      .thenThrow(new LoginLockedException("Muitas tentativas de login, tente novamente mais tarde", 30));
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/login")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isTooManyRequests())
+      .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.TOO_MANY_REQUESTS.value()))
+      .andExpect(jsonPath("$.message").value("Muitas tentativas de login, tente novamente mais tarde"))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    verify(this.userService, times(1)).login(loginData, "127.0.0.1");
+  }
+
+  @Test
+  @DisplayName("refreshToken - Should return a new access token and a rotated refresh token")
+  void refreshTokenSuccess() throws Exception {
+    RefreshTokenDTO refresh = new RefreshTokenDTO("RefreshToken");
+    TokenResponseDTO tokens = new TokenResponseDTO("NewAccessToken", "NewRefreshToken");
+    String jsonBody = this.objectMapper.writeValueAsString(refresh);
+
+    when(this.userService.refresh(refresh)).thenReturn(tokens);
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/refresh")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.SUCCESS.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.OK.value()))
+      .andExpect(jsonPath("$.message").value("Token renovado com sucesso"))
+      .andExpect(jsonPath("$.data.token").value(tokens.token()))
+      .andExpect(jsonPath("$.data.refreshToken").value(tokens.refreshToken()));
+
+    verify(this.userService, times(1)).refresh(refresh);
+  }
+
+  @Test
+  @DisplayName("refreshToken - Should return an error response with an unauthorized status code when the refresh token is invalid")
+  void refreshTokenFailByInvalidToken() throws Exception {
+    RefreshTokenDTO refresh = new RefreshTokenDTO("RefreshToken");
+    String jsonBody = this.objectMapper.writeValueAsString(refresh);
+
+    when(this.userService.refresh(refresh))
+      .thenThrow(new BadCredentialsException("Refresh token inválido, expirado ou revogado"));
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/refresh")
+      .contentType(MediaType.APPLICATION_JSON).content(jsonBody)
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isUnauthorized())
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.UNAUTHORIZED.value()))
+      .andExpect(jsonPath("$.message").value("Refresh token inválido, expirado ou revogado"))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    verify(this.userService, times(1)).refresh(refresh);
   }
 
   @Test
@@ -255,6 +350,38 @@ public class UserControllerTest {
     verify(this.userService, times(1)).getAuthUserProfile("01");
   }
 
+  @Test
+  @DisplayName("logout - Should revoke the current access token and return a success response")
+  void logoutSuccess() throws Exception {
+    RefreshTokenDTO refresh = new RefreshTokenDTO("refresh-1");
+
+    doNothing().when(this.userService).logout(refresh);
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/logout")
+      .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(refresh))
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.SUCCESS.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.OK.value()))
+      .andExpect(jsonPath("$.message").value("Sessão encerrada com sucesso"))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    verify(this.userService, times(1)).logout(refresh);
+  }
+
+  @Test
+  @DisplayName("logout - Should accept a request without a body and still end the session")
+  void logoutWithoutBodySuccess() throws Exception {
+    doNothing().when(this.userService).logout(null);
+
+    this.mockMvc.perform(post(this.baseUrl + "/auth/logout")
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Sessão encerrada com sucesso"));
+
+    verify(this.userService, times(1)).logout(null);
+  }
+
   @Test
   @DisplayName("deleteUser - Should delete a user successfully and return a success response")
   void deleteUserSuccess() throws Exception {
@@ -0,0 +1,142 @@
+package com.felipe.todoapi.infra.cache;
+
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.infra.security.TokenService;
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import com.felipe.todoapi.models.Task;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.TaskRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import com.felipe.todoapi.services.AccountDeletionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EntityCacheTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  AccountDeletionService accountDeletionService;
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private Task task;
+  private String bearer;
+
+  @BeforeEach
+  void setUp() {
+    this.user = this.userRepository.saveAndFlush(new User("User 1", "cache@email.com", "hash"));
+
+    Task newTask = new Task();
+    newTask.setTitle("Tarefa 1");
+    newTask.setDescription("Descrição 1");
+    newTask.setPriority(PriorityLevel.LOW);
+    newTask.setUser(this.user);
+    this.task = this.taskRepository.saveAndFlush(newTask);
+
+    this.bearer = "Bearer " + this.tokenService.generateToken(
+      new UserSpringSecurity(this.user.getId(), this.user.getEmail(), null, 0)
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.accountDeletionService.deleteAccount(this.user.getId());
+  }
+
+  @Test
+  @DisplayName("GET /api/profile/{id} - Should serve a repeated profile lookup from the second-level cache without SQL")
+  void profileServedFromCache() throws Exception {
+    this.mockMvc.perform(get("/api/profile/" + this.user.getId()).header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk());
+
+    Statistics statistics = this.statistics();
+
+    this.mockMvc.perform(get("/api/profile/" + this.user.getId()).header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.email").value("cache@email.com"));
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getDomainDataRegionStatistics(EntityCacheConfiguration.USER_REGION).getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("User region - Should keep serving cached users while other users' tasks are written and purged")
+  void userRegionSurvivesTaskWrites() throws Exception {
+    User other = this.userRepository.saveAndFlush(new User("User 2", "cache2@email.com", "hash"));
+    String otherBearer = "Bearer " + this.tokenService.generateToken(
+      new UserSpringSecurity(other.getId(), other.getEmail(), null, 0)
+    );
+
+    this.mockMvc.perform(get("/api/profile/" + this.user.getId()).header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk());
+
+    // Interleaved task writes of both users: single update, bulk update and the account-deletion chunk delete
+    this.mockMvc.perform(patch("/api/task/" + this.task.getId())
+      .header(HttpHeaders.AUTHORIZATION, this.bearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"title\":\"Tarefa editada\"}"))
+      .andExpect(status().isOk());
+    this.mockMvc.perform(post("/api/task")
+      .header(HttpHeaders.AUTHORIZATION, otherBearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"title\":\"Tarefa 2\",\"priority\":\"baixa\"}"))
+      .andExpect(status().isCreated());
+    this.mockMvc.perform(patch("/api/task/bulk")
+      .header(HttpHeaders.AUTHORIZATION, otherBearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"isDone\":true}"))
+      .andExpect(status().isOk());
+    this.taskRepository.deleteChunkByUserId(other.getId(), 100);
+
+    Statistics statistics = this.statistics();
+
+    this.mockMvc.perform(get("/api/profile/" + this.user.getId()).header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk());
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getDomainDataRegionStatistics(EntityCacheConfiguration.USER_REGION).getHitCount()).isEqualTo(1);
+
+    this.accountDeletionService.deleteAccount(other.getId());
+  }
+
+  private Statistics statistics() {
+    Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+}
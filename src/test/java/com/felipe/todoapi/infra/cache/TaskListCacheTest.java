@@ -0,0 +1,106 @@
+package com.felipe.todoapi.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskListCacheTest {
+
+  private static final byte[] BODY = "{\"code\":200}".getBytes();
+
+  @Test
+  @DisplayName("get - Should serve the stored bytes until the user's tasks are invalidated")
+  void getServesStoredBytesUntilInvalidated() {
+    TaskListCache cache = new TaskListCache(1024, 10, 4, Duration.ofMinutes(5));
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isNull();
+
+    cache.put("01", "all|createdat|asc|20", cache.stamp("01"), BODY);
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isSameAs(BODY);
+    assertThat(cache.getFootprint()).isEqualTo(BODY.length);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+
+    cache.invalidate("01");
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isNull();
+    assertThat(cache.getFootprint()).isZero();
+  }
+
+  @Test
+  @DisplayName("put - Should drop a response read before an invalidation")
+  void putRejectsStaleStamp() {
+    TaskListCache cache = new TaskListCache(1024, 10, 4, Duration.ofMinutes(5));
+
+    long stamp = cache.stamp("01");
+    cache.invalidate("01");
+    cache.put("01", "all|createdat|asc|20", stamp, BODY);
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isNull();
+    assertThat(cache.getFootprint()).isZero();
+  }
+
+  @Test
+  @DisplayName("put - Should evict users once the byte budget is exceeded")
+  void putEvictsOverByteBudget() {
+    TaskListCache cache = new TaskListCache(BODY.length, 10, 4, Duration.ofMinutes(5));
+
+    cache.put("01", "all|createdat|asc|20", cache.stamp("01"), BODY);
+    cache.put("02", "all|createdat|asc|20", cache.stamp("02"), BODY);
+
+    assertThat(cache.getFootprint()).isLessThanOrEqualTo(BODY.length);
+  }
+
+  @Test
+  @DisplayName("get - Should remove an expired response and give its bytes back to the budget")
+  void getRemovesExpiredResponse() {
+    TaskListCache cache = new TaskListCache(1024, 10, 4, Duration.ZERO);
+
+    cache.put("01", "all|createdat|asc|20", cache.stamp("01"), BODY);
+    assertThat(cache.getFootprint()).isEqualTo(BODY.length);
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isNull();
+    assertThat(cache.getFootprint()).isZero();
+  }
+
+  @Test
+  @DisplayName("put - Should purge expired responses before evicting users with live ones")
+  void putPurgesExpiredBeforeEvicting() throws InterruptedException {
+    TaskListCache cache = new TaskListCache(2L * BODY.length, 10, 4, Duration.ofMillis(200));
+
+    cache.put("01", "all|createdat|asc|20", cache.stamp("01"), BODY);
+    Thread.sleep(300);
+    cache.put("02", "all|createdat|asc|20", cache.stamp("02"), BODY);
+    cache.put("03", "all|createdat|asc|20", cache.stamp("03"), BODY);
+
+    assertThat(cache.getFootprint()).isEqualTo(2L * BODY.length);
+    assertThat(cache.get("02", "all|createdat|asc|20")).isSameAs(BODY);
+    assertThat(cache.get("03", "all|createdat|asc|20")).isSameAs(BODY);
+  }
+
+  @Test
+  @DisplayName("invalidateAfterCommit - Should keep the cached responses until the surrounding transaction commits")
+  void invalidateAfterCommitWaitsForCommit() {
+    TaskListCache cache = new TaskListCache(1024, 10, 4, Duration.ofMinutes(5));
+    cache.put("01", "all|createdat|asc|20", cache.stamp("01"), BODY);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.invalidateAfterCommit("01");
+
+      assertThat(cache.get("01", "all|createdat|asc|20")).isSameAs(BODY);
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(cache.get("01", "all|createdat|asc|20")).isNull();
+  }
+}
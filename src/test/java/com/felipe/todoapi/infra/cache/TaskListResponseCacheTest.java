@@ -0,0 +1,114 @@
+package com.felipe.todoapi.infra.cache;
+
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.infra.security.TokenService;
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import com.felipe.todoapi.models.Task;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.TaskRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import com.felipe.todoapi.services.AccountDeletionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskListResponseCacheTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  AccountDeletionService accountDeletionService;
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private Task task;
+  private String bearer;
+
+  @BeforeEach
+  void setUp() {
+    this.user = this.userRepository.saveAndFlush(new User("User 1", "list-cache@email.com", "hash"));
+
+    Task newTask = new Task();
+    newTask.setTitle("Tarefa 1");
+    newTask.setDescription("Descrição 1");
+    newTask.setPriority(PriorityLevel.LOW);
+    newTask.setUser(this.user);
+    this.task = this.taskRepository.saveAndFlush(newTask);
+
+    this.bearer = "Bearer " + this.tokenService.generateToken(
+      new UserSpringSecurity(this.user.getId(), this.user.getEmail(), null, 0)
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.accountDeletionService.deleteAccount(this.user.getId());
+  }
+
+  @Test
+  @DisplayName("GET /api/task - Should answer a repeated first page from the response cache without SQL and drop it on the next write")
+  void taskListServedFromCacheUntilWrite() throws Exception {
+    this.mockMvc.perform(get("/api/task").header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.tasks.length()").value(1));
+
+    Statistics statistics = this.statistics();
+
+    this.mockMvc.perform(get("/api/task").header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.message").value("Todas as tarefas do usuário"))
+      .andExpect(jsonPath("$.data.tasks[0].title").value("Tarefa 1"));
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    this.mockMvc.perform(post("/api/task")
+      .header(HttpHeaders.AUTHORIZATION, this.bearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"title\":\"Tarefa 2\",\"description\":\"Descrição 2\",\"priority\":\"alta\"}"))
+      .andExpect(status().isCreated());
+
+    this.mockMvc.perform(get("/api/task").header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.data.tasks.length()").value(2));
+  }
+
+  private Statistics statistics() {
+    Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+}
@@ -0,0 +1,120 @@
+package com.felipe.todoapi.infra.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchemaMigrationTest {
+
+  // What ddl-auto=update created for the users and task tables, under the names PostgreSQL gave the constraints
+  private static final String[] BASELINE_SCHEMA = {
+    "create table users (created_at TIMESTAMP(3) not null, name varchar(15) not null, email varchar(255) not null,"
+      + " id varchar(255) not null, password varchar(255) not null,"
+      + " constraint users_pkey primary key (id), constraint users_email_key unique (email))",
+    "create table task (is_done boolean not null, priority varchar(5) not null, created_at TIMESTAMP(3) not null,"
+      + " updated_at TIMESTAMP(3) not null, title varchar(60) not null, description varchar(100),"
+      + " id varchar(255) not null, user_id varchar(255) not null, constraint task_pkey primary key (id))",
+    "alter table if exists task add constraint FKbhwpp8tr117vvbxhf5sbkdkc9 foreign key (user_id) references users",
+    "insert into users (id, name, email, password, created_at)"
+      + " values ('0b0c6a1e-0000-4000-8000-000000000001', 'Felipe', 'felipe@email.com', 'hash', CURRENT_TIMESTAMP)",
+    "insert into task (id, title, priority, is_done, created_at, updated_at, user_id)"
+      + " values ('0b0c6a1e-0000-4000-8000-000000000002', 'Tarefa', 'ALTA', false, CURRENT_TIMESTAMP,"
+      + " CURRENT_TIMESTAMP, '0b0c6a1e-0000-4000-8000-000000000001')"
+  };
+
+  @Test
+  @DisplayName("migrate - Should upgrade a database created by ddl-auto to the same schema a fresh database gets")
+  void baselinedDatabaseMatchesFreshSchema() throws SQLException {
+    String freshUrl = "jdbc:h2:mem:fresh_schema;DB_CLOSE_DELAY=-1";
+    String baselinedUrl = "jdbc:h2:mem:baselined_schema;DB_CLOSE_DELAY=-1";
+
+    try(Connection fresh = DriverManager.getConnection(freshUrl, "sa", "");
+        Connection baselined = DriverManager.getConnection(baselinedUrl, "sa", "")) {
+      try(Statement statement = baselined.createStatement()) {
+        for(String sql : BASELINE_SCHEMA) {
+          statement.execute(sql);
+        }
+      }
+
+      this.migrate(freshUrl);
+      this.migrate(baselinedUrl);
+
+      assertThat(this.describe(baselined)).isEqualTo(this.describe(fresh));
+      assertThat(this.describe(baselined)).contains("USERS.UK_USERS_EMAIL UNIQUE", "TASK.FK_TASK_USER FOREIGN KEY");
+
+      try(Statement statement = baselined.createStatement()) {
+        assertThat(this.count(statement, "select count(*) from task where user_id = '0b0c6a1e-0000-4000-8000-000000000001'"))
+          .isEqualTo(1);
+        assertThat(this.count(statement, "select token_version from users")).isZero();
+        assertThatThrownBy(() -> statement.execute(
+          "insert into users (id, name, email, password, created_at, token_version)"
+            + " values (RANDOM_UUID(), 'Outro', 'felipe@email.com', 'hash', CURRENT_TIMESTAMP, 0)"
+        )).hasMessageContaining("UK_USERS_EMAIL");
+      }
+    }
+  }
+
+  private void migrate(String url) {
+    Flyway.configure()
+      .dataSource(url, "sa", "")
+      .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+      .baselineOnMigrate(true)
+      .baselineVersion("0")
+      .load()
+      .migrate();
+  }
+
+  private Set<String> describe(Connection connection) throws SQLException {
+    Set<String> schema = new TreeSet<>();
+
+    try(Statement statement = connection.createStatement()) {
+      try(ResultSet columns = statement.executeQuery(
+        "select table_name, column_name, data_type, is_nullable, column_default from information_schema.columns"
+          + " where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history'"
+      )) {
+        while(columns.next()) {
+          schema.add(columns.getString(1) + "." + columns.getString(2) + " " + columns.getString(3)
+            + " " + columns.getString(4) + " " + columns.getString(5));
+        }
+      }
+
+      try(ResultSet constraints = statement.executeQuery(
+        "select table_name, constraint_name, constraint_type from information_schema.table_constraints"
+          + " where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history'"
+      )) {
+        while(constraints.next()) {
+          schema.add(constraints.getString(1) + "." + constraints.getString(2) + " " + constraints.getString(3));
+        }
+      }
+
+      try(ResultSet indexes = statement.executeQuery(
+        "select table_name, index_name from information_schema.indexes"
+          + " where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history' and index_name like 'IDX_%'"
+      )) {
+        while(indexes.next()) {
+          schema.add(indexes.getString(1) + "." + indexes.getString(2) + " INDEX");
+        }
+      }
+    }
+
+    return schema;
+  }
+
+  private long count(Statement statement, String sql) throws SQLException {
+    try(ResultSet result = statement.executeQuery(sql)) {
+      result.next();
+      return result.getLong(1);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.felipe.todoapi.infra.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeOrderedUuidGeneratorTest {
+
+  @Test
+  @DisplayName("next - Should produce version 7 UUIDs that carry the creation millisecond in the leading bits")
+  void nextIsVersion7WithTimestamp() {
+    long now = System.currentTimeMillis();
+    UUID uuid = TimeOrderedUuidGenerator.next(now);
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(now);
+    assertThat(UUID.fromString(uuid.toString())).isEqualTo(uuid);
+  }
+
+  @Test
+  @DisplayName("next - Should sort ids from later milliseconds after earlier ones, in both uuid and string form")
+  void nextIsOrderedByTime() {
+    long now = System.currentTimeMillis();
+    Set<UUID> sameMillisecond = new HashSet<>();
+
+    for(int i = 0; i < 10_000; i++) {
+      UUID earlier = TimeOrderedUuidGenerator.next(now);
+      UUID later = TimeOrderedUuidGenerator.next(now + 1);
+
+      assertThat(earlier.toString()).isLessThan(later.toString());
+      sameMillisecond.add(earlier);
+    }
+
+    assertThat(sameMillisecond).hasSize(10_000);
+  }
+}
@@ -0,0 +1,23 @@
+package com.felipe.todoapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BCryptStrengthCalibratorTest {
+
+  @Test
+  @DisplayName("calibrate - Should fall back to the minimum strength when even it exceeds the target")
+  void calibrateNeverGoesBelowMinimum() {
+    assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("calibrate - Should pick the maximum strength when every candidate fits the target")
+  void calibrateCapsAtMaximum() {
+    assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+  }
+}
@@ -0,0 +1,47 @@
+package com.felipe.todoapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+
+  @Test
+  @DisplayName("mightContain - Should never miss an inserted key")
+  void mightContainNoFalseNegatives() {
+    BloomFilter filter = BloomFilter.create(1000, 0.01);
+    List<String> keys = new ArrayList<>();
+
+    for(int i = 0; i < 1000; i++) {
+      String key = UUID.randomUUID().toString();
+      keys.add(key);
+      filter.put(key);
+    }
+
+    assertThat(keys).allMatch(filter::mightContain);
+  }
+
+  @Test
+  @DisplayName("mightContain - Should keep the false positive rate close to the configured one")
+  void mightContainFalsePositiveRate() {
+    BloomFilter filter = BloomFilter.create(1000, 0.01);
+
+    for(int i = 0; i < 1000; i++) {
+      filter.put(UUID.randomUUID().toString());
+    }
+
+    int falsePositives = 0;
+    for(int i = 0; i < 10000; i++) {
+      if(filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives).isLessThan(300);
+  }
+}
@@ -0,0 +1,53 @@
+package com.felipe.todoapi.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvalidTokenCounterTest {
+
+  @Test
+  @DisplayName("increment - Should count per address and stop tracking new addresses once the map is full")
+  void incrementCapsTrackedAddresses() {
+    InvalidTokenCounter counter = new InvalidTokenCounter(2, 10);
+
+    counter.increment("10.0.0.1");
+    counter.increment("10.0.0.1");
+    counter.increment("10.0.0.2");
+    counter.increment("10.0.0.3");
+    counter.reset();
+
+    assertThat(counter.lastWindowOffenders()).containsExactly(
+      new InvalidTokenCounter.Offender("10.0.0.1", 2),
+      new InvalidTokenCounter.Offender("10.0.0.2", 1)
+    );
+  }
+
+  @Test
+  @DisplayName("reset - Should publish the top offenders of the closed window as a gauge per address and start a new window")
+  void resetPublishesTopOffenders() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    InvalidTokenCounter counter = new InvalidTokenCounter(10, 2);
+    counter.bindTo(registry);
+
+    for(int i = 0; i < 50; i++) {
+      counter.increment("10.0.0.9");
+    }
+    counter.increment("10.0.0.1");
+    counter.increment("10.0.0.2");
+    counter.increment("10.0.0.2");
+    counter.reset();
+
+    assertThat(registry.get("auth.token.rejected.top").tag("address", "10.0.0.9").gauge().value()).isEqualTo(50);
+    assertThat(registry.get("auth.token.rejected.top").tag("address", "10.0.0.2").gauge().value()).isEqualTo(2);
+    assertThat(registry.find("auth.token.rejected.top").tag("address", "10.0.0.1").gauge()).isNull();
+
+    counter.increment("10.0.0.1");
+    counter.reset();
+
+    assertThat(counter.lastWindowOffenders()).containsExactly(new InvalidTokenCounter.Offender("10.0.0.1", 1));
+    assertThat(registry.find("auth.token.rejected.top").tag("address", "10.0.0.9").gauge()).isNull();
+  }
+}
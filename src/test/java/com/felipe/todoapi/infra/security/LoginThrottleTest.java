@@ -0,0 +1,126 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.exceptions.LoginLockedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class LoginThrottleTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  @DisplayName("acquire - Should lock the e-mail once it reaches the failure threshold, whatever its casing")
+  void acquireLocksEmailAtThreshold() {
+    LoginThrottle throttle = new LoginThrottle(3, 100, Duration.ofMinutes(1), Duration.ofMinutes(15), Duration.ofMinutes(15), 100);
+
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste1@email.com", "10.0.0.1"));
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste1@email.com", "10.0.0.2"));
+    assertThatNoException().isThrownBy(() -> throttle.acquire("Teste1@Email.com", "10.0.0.3"));
+
+    Exception thrown = catchException(() -> throttle.acquire("teste1@email.com", "10.0.0.4"));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(LoginLockedException.class)
+      .hasMessage("Muitas tentativas de login, tente novamente mais tarde");
+    assertThat(((LoginLockedException) thrown).getRetryAfterSeconds()).isBetween(59L, 61L);
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste2@email.com", "10.0.0.4"));
+  }
+
+  @Test
+  @DisplayName("acquire - Should lock an address that fails across many e-mails, and refund the e-mail it then rejects")
+  void acquireLocksAddressAtThreshold() {
+    LoginThrottle throttle = new LoginThrottle(2, 2, Duration.ofMinutes(1), Duration.ofMinutes(15), Duration.ofMinutes(15), 100);
+
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste1@email.com", "10.0.0.1"));
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste2@email.com", "10.0.0.1"));
+    throttle.recordSuccess("teste2@email.com", "10.0.0.1");
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste3@email.com", "10.0.0.1"));
+
+    assertThat(catchException(() -> throttle.acquire("teste1@email.com", "10.0.0.1")))
+      .isExactlyInstanceOf(LoginLockedException.class);
+    // The rejected attempt above did not count against teste1, which is one failure short of its threshold
+    assertThatNoException().isThrownBy(() -> throttle.acquire("teste1@email.com", "10.0.0.2"));
+  }
+
+  @Test
+  @DisplayName("acquire - Should let only threshold attempts of a parallel burst through before any of them fails")
+  void acquireReservesParallelAttempts() throws Exception {
+    LoginThrottle throttle = new LoginThrottle(3, 100, Duration.ofMinutes(1), Duration.ofMinutes(15), Duration.ofMinutes(15), 100);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> attempts = new ArrayList<>();
+
+    try {
+      for(int i = 0; i < 64; i++) {
+        attempts.add(executor.submit(() -> {
+          start.await();
+          try {
+            throttle.acquire("teste1@email.com", "10.0.0.1");
+            return true;
+          } catch(LoginLockedException e) {
+            return false;
+          }
+        }));
+      }
+      start.countDown();
+
+      int allowed = 0;
+      for(Future<Boolean> attempt : attempts) {
+        allowed += attempt.get() ? 1 : 0;
+      }
+
+      assertThat(allowed).isEqualTo(3);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("acquire - Should double the lock per extra failure, cap it, and let failures decay over the half-life")
+  void acquireProgressiveDelayAndDecay() {
+    FailureCounter counter = new FailureCounter(2, Duration.ofSeconds(1), Duration.ofSeconds(4), Duration.ofSeconds(1000), 100);
+    long now = 0;
+
+    assertThat(counter.acquire("key", now)).isZero();
+    assertThat(counter.lockedFor("key", now)).isZero();
+
+    assertThat(counter.acquire("key", now)).isZero();
+    assertThat(counter.lockedFor("key", now)).isEqualTo(SECOND);
+
+    // A locked key rejects the attempt without charging it
+    assertThat(counter.acquire("key", now)).isEqualTo(SECOND);
+
+    now += SECOND;
+    assertThat(counter.acquire("key", now)).isZero();
+    assertThat(counter.lockedFor("key", now)).isEqualTo(2 * SECOND);
+
+    now += 2 * SECOND;
+    counter.acquire("key", now);
+    now += 4 * SECOND;
+    counter.acquire("key", now);
+    assertThat(counter.lockedFor("key", now)).isEqualTo(4 * SECOND);
+
+    // Five failures decay to about 1.25 after two half-lives, so the next one counts as two attempts: lock of 1s,
+    // which the refund of that attempt lifts again
+    now += 2000 * SECOND;
+    counter.acquire("key", now);
+    assertThat(counter.lockedFor("key", now)).isEqualTo(SECOND);
+    counter.refund("key", now);
+    assertThat(counter.lockedFor("key", now)).isZero();
+
+    counter.sweep(now + 10_000 * SECOND);
+    assertThat(counter.size()).isZero();
+  }
+}
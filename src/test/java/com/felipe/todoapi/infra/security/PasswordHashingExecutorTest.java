@@ -0,0 +1,80 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class PasswordHashingExecutorTest {
+
+  private PasswordHashingExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    this.executor = new PasswordHashingExecutor(1, 1, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.executor.destroy();
+  }
+
+  @Test
+  @DisplayName("execute - Should run the task on the hashing pool and return its result")
+  void executeReturnsResult() {
+    String threadName = this.executor.execute(() -> Thread.currentThread().getName());
+
+    assertThat(threadName).startsWith("password-hashing-");
+  }
+
+  @Test
+  @DisplayName("execute - Should reject immediately with a retry hint when the worker and the queue are both taken")
+  void executeFailFastWhenSaturated() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    this.executor.bindTo(registry);
+
+    CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> this.executor.execute(() -> {
+      running.countDown();
+      return this.await(release);
+    }));
+    running.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> this.executor.execute(() -> true));
+
+    while(this.executor.getQueueSize() < 1) {
+      Thread.onSpinWait();
+    }
+
+    Exception thrown = catchException(() -> this.executor.execute(() -> true));
+
+    assertThat(thrown).isExactlyInstanceOf(ServiceOverloadedException.class);
+    assertThat(((ServiceOverloadedException) thrown).getRetryAfterSeconds()).isEqualTo(2);
+    assertThat(registry.get("auth.hashing.queue.size").gauge().value()).isEqualTo(1);
+    assertThat(registry.get("auth.hashing.rejected").functionCounter().count()).isEqualTo(1);
+
+    release.countDown();
+
+    assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(registry.get("auth.hashing.wait").functionTimer().count()).isEqualTo(2);
+  }
+
+  private boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
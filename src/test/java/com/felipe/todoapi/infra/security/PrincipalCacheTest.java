@@ -0,0 +1,80 @@
+package com.felipe.todoapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrincipalCacheTest {
+
+  @Test
+  @DisplayName("get - Should load the principal only once and serve subsequent lookups from the cache")
+  void getServesWarmPrincipalFromCache() {
+    PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+    Function<String, UserSpringSecurity> loader = this.countingLoader(loads);
+
+    UserSpringSecurity first = cache.get("teste1@email.com", loader);
+    UserSpringSecurity second = cache.get("teste1@email.com", loader);
+
+    assertThat(second).isSameAs(first);
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("get - Should reload the principal once its entry has expired")
+  void getReloadsExpiredPrincipal() {
+    PrincipalCache cache = new PrincipalCache(10, Duration.ZERO);
+    AtomicInteger loads = new AtomicInteger();
+    Function<String, UserSpringSecurity> loader = this.countingLoader(loads);
+
+    cache.get("teste1@email.com", loader);
+    cache.get("teste1@email.com", loader);
+
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("invalidate - Should force the next lookup of the given key to hit the loader")
+  void invalidateRemovesPrincipal() {
+    PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+    AtomicInteger loads = new AtomicInteger();
+    Function<String, UserSpringSecurity> loader = this.countingLoader(loads);
+
+    cache.get("teste1@email.com", loader);
+    cache.invalidate("teste1@email.com");
+    cache.get("teste1@email.com", loader);
+
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("get - Should never hold more entries than the configured maximum size")
+  void getKeepsCacheBounded() {
+    PrincipalCache cache = new PrincipalCache(2, Duration.ofMinutes(5));
+    Function<String, UserSpringSecurity> loader = this.countingLoader(new AtomicInteger());
+
+    cache.get("teste1@email.com", loader);
+    cache.get("teste2@email.com", loader);
+    cache.get("teste3@email.com", loader);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  private Function<String, UserSpringSecurity> countingLoader(AtomicInteger loads) {
+    return email -> {
+      loads.incrementAndGet();
+      return new UserSpringSecurity("01", email, "123456");
+    };
+  }
+}
@@ -0,0 +1,64 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.enums.FailureResponseStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+  "api.rate-limit.enabled=true",
+  "api.rate-limit.auth.capacity=2",
+  "api.rate-limit.auth.period=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitFilterTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  @DisplayName("doFilterInternal - Should answer with 429 and rate limit headers once the address spends its auth budget")
+  void rateLimitAuthRoutesByAddress() throws Exception {
+    this.mockMvc.perform(this.login("10.0.0.20"))
+      .andExpect(header().string("RateLimit-Limit", "2"))
+      .andExpect(header().string("RateLimit-Remaining", "1"));
+
+    this.mockMvc.perform(this.login("10.0.0.20"))
+      .andExpect(header().string("RateLimit-Remaining", "0"));
+
+    this.mockMvc.perform(this.login("10.0.0.20"))
+      .andExpect(status().isTooManyRequests())
+      .andExpect(header().string("RateLimit-Remaining", "0"))
+      .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.TOO_MANY_REQUESTS.value()))
+      .andExpect(jsonPath("$.message").value("Muitas requisições, tente novamente mais tarde"));
+
+    this.mockMvc.perform(this.login("10.0.0.21"))
+      .andExpect(header().string("RateLimit-Remaining", "1"));
+  }
+
+  private MockHttpServletRequestBuilder login(String address) {
+    return post("/api/auth/login")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{}")
+      .with(request -> {
+        request.setRemoteAddr(address);
+        return request;
+      });
+  }
+}
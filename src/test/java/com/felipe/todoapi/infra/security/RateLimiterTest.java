@@ -0,0 +1,55 @@
+package com.felipe.todoapi.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  @DisplayName("tryAcquire - Should allow a full burst, reject the next request and refill at the configured rate")
+  void tryAcquireBurstThenRefill() {
+    RateLimiter limiter = new RateLimiter("test", 3, Duration.ofSeconds(3), 10);
+    long now = 0;
+
+    assertThat(limiter.tryAcquire("01", now)).isEqualTo(2);
+    assertThat(limiter.tryAcquire("01", now)).isEqualTo(1);
+    assertThat(limiter.tryAcquire("01", now)).isEqualTo(0);
+    assertThat(limiter.tryAcquire("01", now)).isEqualTo(-SECOND);
+
+    assertThat(limiter.tryAcquire("02", now)).isEqualTo(2);
+    assertThat(limiter.tryAcquire("01", now + SECOND)).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("tryAcquire - Should evict refilled buckets first once the key limit is reached")
+  void tryAcquireEvictsRefilledBuckets() {
+    RateLimiter limiter = new RateLimiter("test", 2, Duration.ofSeconds(2), 2);
+
+    limiter.tryAcquire("01", 0);
+    limiter.tryAcquire("02", 0);
+    limiter.tryAcquire("02", 0);
+
+    limiter.tryAcquire("03", 5 * SECOND);
+
+    assertThat(limiter.size()).isEqualTo(1);
+    assertThat(limiter.tryAcquire("03", 5 * SECOND)).isEqualTo(0);
+  }
+
+  @Test
+  @DisplayName("sweep - Should drop only the buckets that have refilled completely")
+  void sweepDropsRefilledBuckets() {
+    RateLimiter limiter = new RateLimiter("test", 2, Duration.ofSeconds(2), 10);
+
+    limiter.tryAcquire("01", 0);
+    limiter.tryAcquire("02", 3 * SECOND);
+    limiter.sweep(2 * SECOND);
+
+    assertThat(limiter.size()).isEqualTo(1);
+  }
+}
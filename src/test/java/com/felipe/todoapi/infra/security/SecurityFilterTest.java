@@ -0,0 +1,54 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.enums.FailureResponseStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SecurityFilterTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  InvalidTokenCounter invalidTokenCounter;
+
+  @Test
+  @DisplayName("doFilterInternal - Should answer an invalid token with the pre-serialized 401 body and count it for the client address")
+  void rejectInvalidTokenFromFilter() throws Exception {
+    this.invalidTokenCounter.reset();
+
+    this.mockMvc.perform(get("/api/task")
+      .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+      .with(request -> {
+        request.setRemoteAddr("10.0.0.7");
+        return request;
+      })
+      .accept(MediaType.APPLICATION_JSON))
+      .andExpect(status().isUnauthorized())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.status").value(FailureResponseStatus.ERROR.getValue()))
+      .andExpect(jsonPath("$.code").value(HttpStatus.UNAUTHORIZED.value()))
+      .andExpect(jsonPath("$.message").value("O Token de acesso fornecido expirou, foi revogado ou é inválido"))
+      .andExpect(jsonPath("$.data").doesNotExist());
+
+    this.invalidTokenCounter.reset();
+    assertThat(this.invalidTokenCounter.lastWindowOffenders()).contains(new InvalidTokenCounter.Offender("10.0.0.7", 1));
+  }
+}
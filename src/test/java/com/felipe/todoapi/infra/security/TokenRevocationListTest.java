@@ -0,0 +1,81 @@
+package com.felipe.todoapi.infra.security;
+
+import com.felipe.todoapi.infra.cache.EntityCacheConfiguration;
+import com.felipe.todoapi.models.RevokedToken;
+import com.felipe.todoapi.repositories.RevokedTokenRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TokenRevocationList.class, EntityCacheConfiguration.class})
+public class TokenRevocationListTest {
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  RevokedTokenRepository revokedTokenRepository;
+
+  @Autowired
+  TokenRevocationList tokenRevocationList;
+
+  @Test
+  @DisplayName("isRevoked - Should answer from the filter without touching the database when nothing was revoked")
+  void isRevokedSkipsDatabaseForUnknownToken() {
+    this.tokenRevocationList.revoke(UUID.randomUUID().toString(), Instant.now().plus(15, ChronoUnit.MINUTES));
+    this.entityManager.flush();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    assertThat(this.tokenRevocationList.isRevoked(UUID.randomUUID().toString())).isFalse();
+    assertThat(this.tokenRevocationList.isRevoked(null)).isFalse();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("revoke - Should reject the revoked token id right away")
+  void revokeSuccess() {
+    String tokenId = UUID.randomUUID().toString();
+
+    this.tokenRevocationList.revoke(tokenId, Instant.now().plus(15, ChronoUnit.MINUTES));
+
+    assertThat(this.tokenRevocationList.isRevoked(tokenId)).isTrue();
+    assertThat(this.revokedTokenRepository.existsById(tokenId)).isTrue();
+  }
+
+  @Test
+  @DisplayName("rebuild - Should load revocations made elsewhere and prune the expired ones")
+  void rebuildLoadsActiveAndPrunesExpired() {
+    String activeId = UUID.randomUUID().toString();
+    String expiredId = UUID.randomUUID().toString();
+
+    this.revokedTokenRepository.save(new RevokedToken(activeId, LocalDateTime.now().plusMinutes(15)));
+    this.revokedTokenRepository.save(new RevokedToken(expiredId, LocalDateTime.now().minusMinutes(1)));
+    this.entityManager.flush();
+
+    assertThat(this.tokenRevocationList.isRevoked(activeId)).isFalse();
+
+    this.tokenRevocationList.rebuild();
+    this.entityManager.clear();
+
+    assertThat(this.tokenRevocationList.isRevoked(activeId)).isTrue();
+    assertThat(this.tokenRevocationList.isRevoked(expiredId)).isFalse();
+    assertThat(this.revokedTokenRepository.existsById(expiredId)).isFalse();
+  }
+}
@@ -0,0 +1,116 @@
+package com.felipe.todoapi.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.felipe.todoapi.exceptions.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+public class TokenServiceTest {
+
+  private TokenService tokenService;
+
+  @BeforeEach
+  void setUp() {
+    this.tokenService = new TokenService("test-secret", "k1", new String[0], Duration.ofMinutes(15));
+  }
+
+  @Test
+  @DisplayName("validateToken - Should rebuild the principal from the token claims")
+  void validateTokenReturnsPrincipalFromClaims() {
+    UserSpringSecurity user = new UserSpringSecurity("01", "teste1@email.com", "123456", 3);
+
+    String token = this.tokenService.generateToken(user);
+    UserSpringSecurity principal = this.tokenService.validateToken(token);
+
+    assertThat(principal.getId()).isEqualTo(user.getId());
+    assertThat(principal.getUsername()).isEqualTo(user.getUsername());
+    assertThat(principal.getTokenVersion()).isEqualTo(3);
+    assertThat(principal.getPassword()).isNull();
+    assertThat(principal.getTokenId()).isEqualTo(JWT.decode(token).getId()).isNotBlank();
+    assertThat(principal.getTokenExpiresAt()).isAfter(Instant.now());
+  }
+
+  @Test
+  @DisplayName("generateToken - Should give every token its own jti so it can be revoked alone")
+  void generateTokenUniqueJti() {
+    UserSpringSecurity user = new UserSpringSecurity("01", "teste1@email.com", "123456", 0);
+
+    assertThat(JWT.decode(this.tokenService.generateToken(user)).getId())
+      .isNotEqualTo(JWT.decode(this.tokenService.generateToken(user)).getId());
+  }
+
+  @Test
+  @DisplayName("validateToken - Should throw an InvalidTokenException when the token does not carry the user ID claim")
+  void validateTokenFailByMissingUserIdClaim() {
+    String token = JWT.create()
+      .withKeyId("k1")
+      .withIssuer("todo-spring-api")
+      .withSubject("teste1@email.com")
+      .withExpiresAt(Instant.now().plusSeconds(60))
+      .sign(Algorithm.HMAC256("test-secret"));
+
+    Exception thrown = catchException(() -> this.tokenService.validateToken(token));
+
+    assertThat(thrown)
+      .isSameAs(InvalidTokenException.INSTANCE)
+      .hasMessage("O Token de acesso fornecido expirou, foi revogado ou é inválido");
+  }
+
+  @Test
+  @DisplayName("validateToken - Should reject expired and malformed tokens with the shared stackless exception")
+  void validateTokenFailByExpiredOrMalformedToken() {
+    String expired = JWT.create()
+      .withKeyId("k1")
+      .withIssuer("todo-spring-api")
+      .withSubject("teste1@email.com")
+      .withClaim("uid", "01")
+      .withClaim("ver", 0)
+      .withExpiresAt(Instant.now().minusSeconds(1))
+      .sign(Algorithm.HMAC256("test-secret"));
+
+    assertThat(catchException(() -> this.tokenService.validateToken(expired))).isSameAs(InvalidTokenException.INSTANCE);
+    assertThat(catchException(() -> this.tokenService.validateToken("not-a-token"))).isSameAs(InvalidTokenException.INSTANCE);
+    assertThat(catchException(() -> this.tokenService.validateToken("a.b.c"))).isSameAs(InvalidTokenException.INSTANCE);
+    assertThat(InvalidTokenException.INSTANCE.getStackTrace()).isEmpty();
+
+    InvalidTokenException.INSTANCE.addSuppressed(new IllegalStateException());
+    assertThat(InvalidTokenException.INSTANCE.getSuppressed()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("TokenService - Should rotate keys across restarts, accepting the previous key only while it is listed as retired")
+  void restartRotationKeepsPreviousKeyWhileRetired() {
+    UserSpringSecurity user = new UserSpringSecurity("01", "teste1@email.com", "123456", 0);
+    String oldToken = this.tokenService.generateToken(user);
+
+    TokenService rotated = new TokenService("rotated-secret", "k2", new String[]{"k1:test-secret"}, Duration.ofMinutes(15));
+    TokenService cleanedUp = new TokenService("rotated-secret", "k2", new String[0], Duration.ofMinutes(15));
+    String newToken = rotated.generateToken(user);
+
+    assertThat(JWT.decode(newToken).getKeyId()).isEqualTo("k2");
+    assertThat(rotated.validateToken(oldToken).getId()).isEqualTo(user.getId());
+    assertThat(rotated.validateToken(newToken).getId()).isEqualTo(user.getId());
+    assertThat(catchException(() -> cleanedUp.validateToken(oldToken))).isSameAs(InvalidTokenException.INSTANCE);
+    assertThat(cleanedUp.validateToken(newToken).getId()).isEqualTo(user.getId());
+  }
+
+  @Test
+  @DisplayName("TokenService - Should verify tokens signed with a configured retired key")
+  void retiredKeysFromConfigurationAreAccepted() {
+    TokenService previous = new TokenService("old-secret", "k0", new String[0], Duration.ofMinutes(15));
+    TokenService current = new TokenService("test-secret", "k1", new String[]{"k0:old-secret"}, Duration.ofMinutes(15));
+    UserSpringSecurity user = new UserSpringSecurity("01", "teste1@email.com", "123456", 0);
+
+    String token = previous.generateToken(user);
+
+    assertThat(current.validateToken(token).getUsername()).isEqualTo(user.getUsername());
+  }
+}
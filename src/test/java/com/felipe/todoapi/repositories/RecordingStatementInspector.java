@@ -0,0 +1,26 @@
+package com.felipe.todoapi.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Keeps the SQL Hibernate generates so tests can EXPLAIN the exact statement a repository method runs
+public class RecordingStatementInspector implements StatementInspector {
+
+  private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    statements.add(sql);
+    return sql;
+  }
+
+  public static void clear() {
+    statements.clear();
+  }
+
+  public static List<String> statements() {
+    return List.copyOf(statements);
+  }
+}
@@ -1,24 +1,39 @@
 package com.felipe.todoapi.repositories;
 
 import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskResponseDTO;
 import com.felipe.todoapi.dtos.UserRegisterDTO;
 import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.infra.cache.EntityCacheConfiguration;
 import com.felipe.todoapi.models.Task;
 import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.utils.TaskCursor;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.felipe.todoapi.repositories.RecordingStatementInspector")
 @ActiveProfiles("test")
+@Import(EntityCacheConfiguration.class)
 public class TaskRepositoryTest {
 
   @Autowired
@@ -28,20 +43,48 @@ public class TaskRepositoryTest {
   TaskRepository taskRepository;
 
   @Test
-  @DisplayName("findAllTasksByUserId - Should return all tasks belonging to the given user id")
-  void findAllTasksByUserId() {
+  @DisplayName("findPageByUserId - Should return only tasks belonging to the given user id, limited to the page size")
+  void findPageByUserId() {
     User user1 = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
     User user2 = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
 
-    this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, user1);
-    this.createTask(new TaskCreateDTO("Task 2","Descrição 2","alta"), false, user1);
+    Task task1 = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, user1);
+    Task task2 = this.createTask(new TaskCreateDTO("Task 2","Descrição 2","alta"), false, user1);
     this.createTask(new TaskCreateDTO("Task 3","Descrição 3","media"), false, user2);
 
-    List<Task> tasks = this.taskRepository.findAllByUserId(user1.getId(), Sort.by("title").ascending());
+    List<TaskResponseDTO> tasks = this.taskRepository.findPageByUserId(user1.getId(), "title", Sort.Direction.ASC, null, 10);
+    List<TaskResponseDTO> firstTask = this.taskRepository.findPageByUserId(user1.getId(), "title", Sort.Direction.ASC, null, 1);
 
-    assertThat(tasks)
-      .allSatisfy(task -> assertThat(task.getUser().getId()).isEqualTo(user1.getId()))
-      .hasSize(2);
+    assertThat(tasks).extracting(TaskResponseDTO::id).containsExactly(task1.getId(), task2.getId());
+    assertThat(tasks).extracting(TaskResponseDTO::priority).containsExactly("baixa", "alta");
+    assertThat(firstTask).extracting(TaskResponseDTO::title).containsExactly("Task 1");
+  }
+
+  @Test
+  @DisplayName("findPageByUserId - Should walk every task exactly once when seeking past the cursor, using the id to break ties")
+  void findPageByUserIdSeeksPastCursor() {
+    User user = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+
+    for(int i = 1; i <= 5; i++) {
+      this.createTask(new TaskCreateDTO("Task " + i, "Descrição " + i, "media"), false, user);
+    }
+
+    List<String> visited = new ArrayList<>();
+    TaskCursor cursor = null;
+    List<TaskResponseDTO> page;
+
+    do {
+      page = this.taskRepository.findPageByUserId(user.getId(), "priority", Sort.Direction.DESC, cursor, 2);
+      page.forEach(task -> visited.add(task.id()));
+
+      if(!page.isEmpty()) {
+        TaskResponseDTO last = page.get(page.size() - 1);
+        cursor = new TaskCursor("priority", Sort.Direction.DESC, PriorityLevel.MEDIUM.getLevel(), last.id());
+      }
+    } while(page.size() == 2);
+
+    assertThat(visited).hasSize(5).doesNotHaveDuplicates();
+    assertThat(visited).isSortedAccordingTo(Comparator.reverseOrder());
   }
 
   @Test
@@ -50,19 +93,224 @@ public class TaskRepositoryTest {
     User user1 = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
     User user2 = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
 
-    this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), true, user1);
-    this.createTask(new TaskCreateDTO("Task 2","Descrição 2","alta"), true, user1);
+    Task task1 = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), true, user1);
+    Task task2 = this.createTask(new TaskCreateDTO("Task 2","Descrição 2","alta"), true, user1);
     this.createTask(new TaskCreateDTO("Task 3","Descrição 3","media"), false, user2);
 
-    List<Task> tasks = this.taskRepository.findAllDoneOrNotDone(user1.getId(), true);
+    List<TaskResponseDTO> tasks = this.taskRepository.findDoneOrNotDonePageByUserId(user1.getId(), true, null, 10);
+
+    assertThat(tasks).allSatisfy(task -> assertThat(task.isDone()).isEqualTo(true)).hasSize(2);
+    assertThat(tasks).extracting(TaskResponseDTO::id).containsExactlyInAnyOrder(task1.getId(), task2.getId());
+  }
+
+  @Test
+  @DisplayName("findAllDoneOrNotDoneTasks - Should resolve the query through the (user_id, is_done, updated_at DESC, id) index on a seeded dataset")
+  void findAllDoneOrNotDoneTasksUsesCompositeIndex() {
+    List<User> users = new ArrayList<>();
+
+    for(int i = 1; i <= 5; i++) {
+      User user = this.createUser(new UserRegisterDTO("User " + i, "teste" + i + "@email.com", "123456"));
+      users.add(user);
+
+      for(int j = 1; j <= 40; j++) {
+        this.createTask(new TaskCreateDTO("Task " + j, "Descrição " + j, "media"), j % 2 == 0, user);
+      }
+    }
+    this.entityManager.flush();
+
+    TaskResponseDTO first = this.taskRepository.findDoneOrNotDonePageByUserId(users.get(0).getId(), true, null, 20).get(0);
+    TaskCursor cursor = new TaskCursor("updatedAt", Sort.Direction.DESC, first.updatedAt().toString(), first.id());
+
+    RecordingStatementInspector.clear();
+    this.taskRepository.findDoneOrNotDonePageByUserId(users.get(0).getId(), true, cursor, 21);
+    String sql = RecordingStatementInspector.statements().get(0);
+
+    String plan = this.entityManager.unwrap(Session.class).doReturningWork(connection -> {
+      try(PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+        statement.setObject(1, UUID.fromString(users.get(0).getId()));
+        statement.setBoolean(2, true);
+        statement.setObject(3, first.updatedAt());
+        statement.setObject(4, first.updatedAt());
+        statement.setObject(5, first.updatedAt());
+        statement.setObject(6, UUID.fromString(first.id()));
+
+        try(ResultSet result = statement.executeQuery()) {
+          result.next();
+          return result.getString(1);
+        }
+      }
+    });
+
+    // H2 prints the index conditions in a comment: the updated_at bound must be one of them, not only a filter
+    String indexConditions = plan.toLowerCase().substring(plan.indexOf("/*"), plan.indexOf("*/"));
+
+    assertThat(indexConditions)
+      .contains("idx_task_user_done_updated:")
+      .contains("user_id = ?")
+      .contains("is_done = ?")
+      .contains("updated_at <= ?");
+  }
+
+  @Test
+  @DisplayName("findById - Should load a single task with one SQL statement, leaving the user unloaded and exposing its id")
+  void findByIdIssuesSingleStatement() {
+    User user = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    Task task = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, user);
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    Task found = this.taskRepository.findById(task.getId()).orElseThrow();
+
+    assertThat(found.getUserId()).isEqualTo(user.getId());
+    assertThat(Hibernate.isInitialized(found.getUser())).isFalse();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("findById - Should store time-ordered uuid keys and find nothing for an id that is not a UUID")
+  void findByIdWithTimeOrderedAndMalformedIds() {
+    User user = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    Task task = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, user);
+    this.entityManager.flush();
+
+    Object columnType = this.entityManager.createNativeQuery(
+      "SELECT data_type FROM information_schema.columns WHERE table_name = 'TASK' AND column_name = 'ID'"
+    ).getSingleResult();
+
+    assertThat(columnType).isEqualTo("UUID");
+    assertThat(UUID.fromString(task.getId()).version()).isEqualTo(7);
+    assertThat(this.taskRepository.findById("not-a-uuid")).isEmpty();
+    assertThat(this.taskRepository.deleteByIdAndUserId("not-a-uuid", user.getId())).isZero();
+  }
+
+  @Test
+  @DisplayName("updateByIdAndUserId - Should update only the given columns of the owner's task in one statement")
+  void updateByIdAndUserId() {
+    User owner = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    User other = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
+    Task task = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, owner);
+    this.entityManager.flush();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    int updatedRows = this.taskRepository.updateByIdAndUserId(task.getId(), owner.getId(), null, null, PriorityLevel.HIGH, true, now);
+    long statements = statistics.getPrepareStatementCount();
+    int foreignRows = this.taskRepository.updateByIdAndUserId(task.getId(), other.getId(), "Invasor", null, null, null, now);
+
+    TaskResponseDTO updated = this.taskRepository.findResponseById(task.getId()).orElseThrow();
+
+    assertThat(updatedRows).isEqualTo(1);
+    assertThat(statements).isEqualTo(1);
+    assertThat(foreignRows).isZero();
+    assertThat(updated.title()).isEqualTo("Task 1");
+    assertThat(updated.description()).isEqualTo("Descrição 1");
+    assertThat(updated.priority()).isEqualTo("alta");
+    assertThat(updated.isDone()).isTrue();
+    assertThat(updated.updatedAt()).isEqualTo(now);
+  }
+
+  @Test
+  @DisplayName("deleteByIdAndUserId - Should delete the task only when it belongs to the given user id")
+  void deleteByIdAndUserId() {
+    User owner = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    User other = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
+    Task task = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, owner);
+    this.entityManager.flush();
+
+    int foreignRows = this.taskRepository.deleteByIdAndUserId(task.getId(), other.getId());
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    int deletedRows = this.taskRepository.deleteByIdAndUserId(task.getId(), owner.getId());
+
+    assertThat(foreignRows).isZero();
+    assertThat(deletedRows).isEqualTo(1);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(this.taskRepository.existsById(task.getId())).isFalse();
+  }
+
+  @Test
+  @DisplayName("updateMatchingByUserId - Should update the user's matching tasks in one statement, skipping rows that would not change")
+  void updateMatchingByUserId() {
+    User owner = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    User other = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
+    Task lowPending = this.createTask(new TaskCreateDTO("Task 1","Descrição 1","baixa"), false, owner);
+    Task highPending = this.createTask(new TaskCreateDTO("Task 2","Descrição 2","alta"), false, owner);
+    Task lowDone = this.createTask(new TaskCreateDTO("Task 3","Descrição 3","baixa"), true, owner);
+    Task foreign = this.createTask(new TaskCreateDTO("Task 4","Descrição 4","baixa"), false, other);
+    this.entityManager.flush();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    LocalDateTime now = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.MILLIS);
+    int updatedRows = this.taskRepository.updateMatchingByUserId(owner.getId(), null, PriorityLevel.LOW, null, true, now);
+    long statements = statistics.getPrepareStatementCount();
+    int repeatedRows = this.taskRepository.updateMatchingByUserId(owner.getId(), null, PriorityLevel.LOW, null, true, now);
+    int unchangedRows = this.taskRepository.updateMatchingByUserId(owner.getId(), null, null, null, null, now);
+
+    assertThat(updatedRows).isEqualTo(1);
+    assertThat(statements).isEqualTo(1);
+    assertThat(repeatedRows).isZero();
+    assertThat(unchangedRows).isZero();
+    assertThat(this.taskRepository.findResponseById(lowPending.getId()).orElseThrow().isDone()).isTrue();
+    assertThat(this.taskRepository.findResponseById(lowPending.getId()).orElseThrow().updatedAt()).isEqualTo(now);
+    assertThat(this.taskRepository.findResponseById(highPending.getId()).orElseThrow().isDone()).isFalse();
+    assertThat(this.taskRepository.findResponseById(lowDone.getId()).orElseThrow().updatedAt()).isNotEqualTo(now);
+    assertThat(this.taskRepository.findResponseById(foreign.getId()).orElseThrow().isDone()).isFalse();
+  }
+
+  @Test
+  @DisplayName("deleteMatchingByUserId - Should delete the user's done tasks in one statement and leave everything else")
+  void deleteMatchingByUserId() {
+    User owner = this.createUser(new UserRegisterDTO("User 1","teste1@email.com","123456"));
+    User other = this.createUser(new UserRegisterDTO("User 2","teste2@email.com","123456"));
+
+    for(int i = 1; i <= 10; i++) {
+      this.createTask(new TaskCreateDTO("Task " + i, "Descrição " + i, "media"), i % 2 == 0, owner);
+    }
+    Task foreign = this.createTask(new TaskCreateDTO("Task 11","Descrição 11","media"), true, other);
+    this.entityManager.flush();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    int deletedRows = this.taskRepository.deleteMatchingByUserId(owner.getId(), true, null);
+    long statements = statistics.getPrepareStatementCount();
+
+    assertThat(deletedRows).isEqualTo(5);
+    assertThat(statements).isEqualTo(1);
+    assertThat(this.taskRepository.findDoneOrNotDonePageByUserId(owner.getId(), true, null, 10)).isEmpty();
+    assertThat(this.taskRepository.findDoneOrNotDonePageByUserId(owner.getId(), false, null, 10)).hasSize(5);
+    assertThat(this.taskRepository.existsById(foreign.getId())).isTrue();
+  }
+
+  @Test
+  @DisplayName("Schema - Should serve every task list ordering from an index created by the migrations")
+  void taskListOrderingsUseMigratedIndexes() {
+    assertThat(this.explain("SELECT id FROM task WHERE user_id = '00000000-0000-0000-0000-000000000000' ORDER BY title, id"))
+      .containsIgnoringCase("idx_task_user_title");
+    assertThat(this.explain("SELECT id FROM task WHERE user_id = '00000000-0000-0000-0000-000000000000' ORDER BY priority DESC, id DESC"))
+      .containsIgnoringCase("idx_task_user_priority");
+    assertThat(this.explain("SELECT id FROM task WHERE user_id = '00000000-0000-0000-0000-000000000000' ORDER BY created_at, id"))
+      .containsIgnoringCase("idx_task_user_created");
+    assertThat(this.explain("SELECT id FROM task WHERE user_id = '00000000-0000-0000-0000-000000000000' ORDER BY updated_at DESC, id DESC"))
+      .containsIgnoringCase("idx_task_user_updated");
+    assertThat(this.explain("SELECT id FROM task WHERE user_id = '00000000-0000-0000-0000-000000000000' AND is_done = TRUE ORDER BY updated_at DESC, id"))
+      .containsIgnoringCase("idx_task_user_done_updated");
+  }
 
-    assertThat(tasks).allSatisfy(task -> {
-      assertThat(task.getUser().getId()).isEqualTo(user1.getId());
-      assertThat(task.isDone()).isEqualTo(true);
-    }).hasSize(2);
+  private String explain(String sql) {
+    return this.entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
   }
 
-  private void createTask(TaskCreateDTO data, boolean isTaskDone, User user) {
+  private Task createTask(TaskCreateDTO data, boolean isTaskDone, User user) {
     UUID randomUUID = UUID.randomUUID();
     String id = randomUUID.toString();
 
@@ -74,7 +322,7 @@ public class TaskRepositoryTest {
     newTask.setIsDone(isTaskDone);
     newTask.setUser(user);
 
-    this.entityManager.merge(newTask);
+    return this.entityManager.merge(newTask);
   }
 
   private User createUser(UserRegisterDTO data) {
@@ -0,0 +1,93 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.infra.cache.EntityCacheConfiguration;
+import com.felipe.todoapi.models.Task;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.TaskRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AccountDeletionService.class, RefreshTokenService.class, EntityCacheConfiguration.class})
+@TestPropertySource(properties = "api.account-deletion.chunk-size=10")
+public class AccountDeletionServiceTest {
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  AccountDeletionService accountDeletionService;
+
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
+  @Test
+  @DisplayName("deleteAccount - Should delete the user's tasks in bounded chunks, then the user, without touching other accounts")
+  void deleteAccountInChunks() {
+    User user = this.createUser("teste1@email.com");
+    User other = this.createUser("teste2@email.com");
+
+    for(int i = 1; i <= 25; i++) {
+      this.createTask("Task " + i, user);
+    }
+    this.createTask("Task 1", other);
+    this.refreshTokenService.issue(user.getId(), 0);
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    long deletedTasks = this.accountDeletionService.deleteAccount(user.getId());
+
+    assertThat(deletedTasks).isEqualTo(25);
+    // 10 + 10 + 5 + one empty chunk, then the refresh tokens and the user row
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(this.userRepository.existsById(user.getId())).isFalse();
+    assertThat(this.userRepository.existsById(other.getId())).isTrue();
+    assertThat(this.taskRepository.count()).isEqualTo(1);
+  }
+
+  private User createUser(String email) {
+    User newUser = new User();
+    newUser.setId(UUID.randomUUID().toString());
+    newUser.setName("User");
+    newUser.setEmail(email);
+    newUser.setPassword("123456");
+
+    return this.entityManager.merge(newUser);
+  }
+
+  private void createTask(String title, User user) {
+    Task newTask = new Task();
+    newTask.setId(UUID.randomUUID().toString());
+    newTask.setTitle(title);
+    newTask.setPriority(PriorityLevel.LOW);
+    newTask.setIsDone(false);
+    newTask.setUser(user);
+
+    this.entityManager.merge(newTask);
+  }
+}
@@ -0,0 +1,69 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.dtos.LoginDTO;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.RefreshTokenRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PasswordRehashTest {
+
+  private static final String EMAIL = "rehash@email.com";
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  PasswordEncoder passwordEncoder;
+
+  @AfterEach
+  void tearDown() {
+    this.userRepository.findByEmail(EMAIL).ifPresent(user -> {
+      this.refreshTokenRepository.deleteAllByUserId(user.getId());
+      this.userRepository.delete(user);
+    });
+  }
+
+  @Test
+  @DisplayName("userLogin - Should rehash a legacy unprefixed BCrypt hash with the current algorithm id and cost")
+  void loginRehashesLegacyHash() {
+    String legacyHash = new BCryptPasswordEncoder(5).encode("123456");
+    this.userRepository.saveAndFlush(new User("User 1", EMAIL, legacyHash));
+
+    this.userService.login(new LoginDTO(EMAIL, "123456"), "127.0.0.1");
+
+    String storedHash = this.userRepository.findByEmail(EMAIL).orElseThrow().getPassword();
+
+    assertThat(storedHash).startsWith("{bcrypt}$2a$04$");
+    assertThat(this.passwordEncoder.matches("123456", storedHash)).isTrue();
+    assertThat(this.passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+  }
+
+  @Test
+  @DisplayName("userLogin - Should keep a hash that already uses the current algorithm and cost")
+  void loginKeepsCurrentHash() {
+    String currentHash = this.passwordEncoder.encode("123456");
+    this.userRepository.saveAndFlush(new User("User 1", EMAIL, currentHash));
+
+    this.userService.login(new LoginDTO(EMAIL, "123456"), "127.0.0.1");
+
+    assertThat(this.userRepository.findByEmail(EMAIL).orElseThrow().getPassword()).isEqualTo(currentHash);
+  }
+}
@@ -0,0 +1,182 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.infra.cache.EntityCacheConfiguration;
+import com.felipe.todoapi.models.RefreshToken;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.RefreshTokenRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({RefreshTokenService.class, EntityCacheConfiguration.class})
+public class RefreshTokenServiceTest {
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    User newUser = new User("User 1", "teste1@email.com", "hash");
+    newUser.setId(UUID.randomUUID().toString());
+    this.user = this.entityManager.merge(newUser);
+    this.entityManager.flush();
+  }
+
+  @Test
+  @DisplayName("issue - Should store only the SHA-256 of the token handed to the client")
+  void issueStoresHashOnly() {
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+
+    assertThat(this.refreshTokenRepository.findAll())
+      .singleElement()
+      .satisfies(token -> {
+        assertThat(token.getTokenHash()).isEqualTo(RefreshTokenService.hash(rawToken)).hasSize(64);
+        assertThat(token.getTokenHash()).isNotEqualTo(rawToken);
+      });
+  }
+
+  @Test
+  @DisplayName("rotate - Should return the token's user and a new refresh token from the same family in three statements")
+  void rotateSuccess() {
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Statistics statistics = this.entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    RefreshTokenService.Rotation rotation = this.refreshTokenService.rotate(rawToken);
+    this.entityManager.flush();
+
+    assertThat(rotation.principal().getId()).isEqualTo(this.user.getId());
+    assertThat(rotation.principal().getUsername()).isEqualTo(this.user.getEmail());
+    assertThat(rotation.refreshToken()).isNotEqualTo(rawToken);
+    // lookup joined with users, conditional UPDATE, INSERT of the successor
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    assertThat(this.refreshTokenRepository.findAll())
+      .hasSize(2)
+      .extracting(RefreshToken::getFamilyId)
+      .containsOnly(this.refreshTokenRepository.findAll().get(0).getFamilyId());
+  }
+
+  @Test
+  @DisplayName("rotate - Should revoke the whole family when an already used refresh token is presented again")
+  void rotateReuseRevokesFamily() {
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+    String successor = this.refreshTokenService.rotate(rawToken).refreshToken();
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Exception reused = catchException(() -> this.refreshTokenService.rotate(rawToken));
+    this.entityManager.clear();
+    Exception afterRevocation = catchException(() -> this.refreshTokenService.rotate(successor));
+
+    assertThat(reused)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+    assertThat(afterRevocation).isExactlyInstanceOf(BadCredentialsException.class);
+  }
+
+  @Test
+  @DisplayName("rotate - Should reject and revoke a refresh token issued before the user's token version was bumped")
+  void rotateFailByStaleTokenVersion() {
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+    String successor = this.refreshTokenService.rotate(rawToken).refreshToken();
+    this.user.setTokenVersion(1);
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    Exception stale = catchException(() -> this.refreshTokenService.rotate(successor));
+    this.entityManager.flush();
+    this.entityManager.clear();
+
+    assertThat(stale)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+    assertThat(this.refreshTokenRepository.findAll()).hasSize(2).allMatch(RefreshToken::isRevoked);
+
+    String current = this.refreshTokenService.issue(this.user.getId(), 1);
+    assertThat(this.refreshTokenService.rotate(current).principal().getTokenVersion()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("rotate - Should throw a BadCredentialsException for an unknown refresh token")
+  void rotateFailByUnknownToken() {
+    Exception thrown = catchException(() -> this.refreshTokenService.rotate("desconhecido"));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+  }
+
+  @Test
+  @DisplayName("pruneExpired - Should delete the tokens past their expiry and keep used tokens still needed for reuse detection")
+  void pruneExpiredKeepsLiveTokens() {
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+    String successor = this.refreshTokenService.rotate(rawToken).refreshToken();
+    RefreshToken expired = this.refreshTokenRepository.save(
+      new RefreshToken(RefreshTokenService.hash("expirado"), UUID.randomUUID().toString(), this.user, 0, LocalDateTime.now().minusMinutes(1))
+    );
+    this.entityManager.flush();
+
+    this.refreshTokenService.pruneExpired();
+    this.entityManager.clear();
+
+    assertThat(this.refreshTokenRepository.findAll())
+      .extracting(RefreshToken::getTokenHash)
+      .containsExactlyInAnyOrder(RefreshTokenService.hash(rawToken), RefreshTokenService.hash(successor))
+      .doesNotContain(expired.getTokenHash());
+  }
+
+  @Test
+  @DisplayName("revokeFamily - Should reject a refresh after logout and refuse to revoke tokens of other users")
+  void refreshAfterLogoutIsRejected() {
+    User otherUser = new User("User 2", "teste2@email.com", "hash");
+    otherUser.setId(UUID.randomUUID().toString());
+    User other = this.entityManager.merge(otherUser);
+
+    String rawToken = this.refreshTokenService.issue(this.user.getId(), 0);
+    String successor = this.refreshTokenService.rotate(rawToken).refreshToken();
+    String otherToken = this.refreshTokenService.issue(other.getId(), 0);
+    this.entityManager.flush();
+
+    this.refreshTokenService.revokeFamily(successor, this.user.getId());
+    this.refreshTokenService.revokeFamily(successor, this.user.getId());
+    Exception foreign = catchException(() -> this.refreshTokenService.revokeFamily(otherToken, this.user.getId()));
+    this.entityManager.clear();
+
+    Exception thrown = catchException(() -> this.refreshTokenService.rotate(successor));
+
+    assertThat(foreign)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+    assertThat(thrown)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+    assertThat(this.refreshTokenService.rotate(otherToken).principal().getId()).isEqualTo(other.getId());
+  }
+}
@@ -0,0 +1,147 @@
+package com.felipe.todoapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.todoapi.dtos.TaskBatchUpdateDTO;
+import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskUpdateDTO;
+import com.felipe.todoapi.enums.PriorityLevel;
+import com.felipe.todoapi.infra.security.TokenService;
+import com.felipe.todoapi.infra.security.UserSpringSecurity;
+import com.felipe.todoapi.models.Task;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.TaskRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskBatchTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  TaskRepository taskRepository;
+
+  @Autowired
+  AccountDeletionService accountDeletionService;
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private String bearer;
+
+  @BeforeEach
+  void setUp() {
+    this.user = this.userRepository.saveAndFlush(new User("User 1", "batch@email.com", "hash"));
+    this.bearer = "Bearer " + this.tokenService.generateToken(
+      new UserSpringSecurity(this.user.getId(), this.user.getEmail(), null, 0)
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.accountDeletionService.deleteAccount(this.user.getId());
+  }
+
+  @Test
+  @DisplayName("POST /api/task/batch - Should insert a full batch with one user lookup and JDBC batched INSERTs")
+  void createBatchUsesJdbcBatching() throws Exception {
+    List<TaskCreateDTO> batch = new ArrayList<>();
+    for(int i = 0; i < 1000; i++) {
+      batch.add(new TaskCreateDTO("Tarefa " + i, "Descrição " + i, i % 2 == 0 ? "baixa" : "alta"));
+    }
+
+    // Loads the principal into PrincipalCache so the counts below only cover the batch
+    this.mockMvc.perform(get("/api/task").header(HttpHeaders.AUTHORIZATION, this.bearer))
+      .andExpect(status().isOk());
+
+    Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    this.mockMvc.perform(post("/api/task/batch")
+      .header(HttpHeaders.AUTHORIZATION, this.bearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(this.objectMapper.writeValueAsString(batch)))
+      .andExpect(status().isCreated())
+      .andExpect(jsonPath("$.data.length()").value(1000))
+      .andExpect(jsonPath("$.data[999].index").value(999))
+      .andExpect(jsonPath("$.data[999].task.title").value("Tarefa 999"));
+
+    // batch_size=50: 20 INSERT batches, each prepared once, plus the user lookup at most
+    assertThat(statistics.getEntityStatistics(Task.class.getName()).getInsertCount()).isEqualTo(1000);
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(21);
+    // The user lookup and the INSERTs share one transaction
+    assertThat(statistics.getTransactionCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("PATCH /api/task/batch - Should load the owned tasks in one query and flush the changes as JDBC batches")
+  void updateBatchUsesSingleLoadAndJdbcBatching() throws Exception {
+    List<TaskBatchUpdateDTO> batch = new ArrayList<>();
+    for(int i = 0; i < 120; i++) {
+      Task task = new Task();
+      task.setTitle("Tarefa " + i);
+      task.setPriority(PriorityLevel.LOW);
+      task.setUser(this.user);
+      task = this.taskRepository.save(task);
+
+      batch.add(new TaskBatchUpdateDTO(task.getId(), new TaskUpdateDTO(null, null, "alta", i % 2 == 0)));
+    }
+    batch.add(new TaskBatchUpdateDTO(UUID.randomUUID().toString(), new TaskUpdateDTO(null, null, null, true)));
+
+    Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    this.mockMvc.perform(patch("/api/task/batch")
+      .header(HttpHeaders.AUTHORIZATION, this.bearer)
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(this.objectMapper.writeValueAsString(batch)))
+      .andExpect(status().isMultiStatus())
+      .andExpect(jsonPath("$.data[0].code").value(200))
+      .andExpect(jsonPath("$.data[0].task.priority").value("alta"))
+      .andExpect(jsonPath("$.data[0].task.isDone").value(true))
+      .andExpect(jsonPath("$.data[1].task.isDone").value(false))
+      .andExpect(jsonPath("$.data[120].code").value(404));
+
+    // Owned tasks, the 403/404 lookup, then 3 UPDATE batches of at most 50
+    assertThat(statistics.getEntityStatistics(Task.class.getName()).getUpdateCount()).isEqualTo(120);
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    assertThat(this.taskRepository.findById(batch.get(0).id()).orElseThrow().getPriority()).isEqualTo(PriorityLevel.HIGH);
+  }
+}
@@ -1,16 +1,26 @@
 package com.felipe.todoapi.services;
 
+import com.felipe.todoapi.dtos.TaskBatchItemResultDTO;
+import com.felipe.todoapi.dtos.TaskBatchUpdateDTO;
+import com.felipe.todoapi.dtos.TaskBulkResultDTO;
+import com.felipe.todoapi.dtos.TaskBulkUpdateDTO;
 import com.felipe.todoapi.dtos.TaskCreateDTO;
+import com.felipe.todoapi.dtos.TaskPageResponseDTO;
 import com.felipe.todoapi.dtos.TaskResponseDTO;
 import com.felipe.todoapi.dtos.TaskUpdateDTO;
 import com.felipe.todoapi.dtos.mappers.TaskMapper;
 import com.felipe.todoapi.enums.PriorityLevel;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
+import com.felipe.todoapi.infra.cache.TaskListCache;
 import com.felipe.todoapi.infra.security.UserSpringSecurity;
 import com.felipe.todoapi.models.Task;
 import com.felipe.todoapi.models.User;
 import com.felipe.todoapi.repositories.TaskRepository;
 import com.felipe.todoapi.repositories.UserRepository;
+import com.felipe.todoapi.utils.CustomValidationErrors;
+import com.felipe.todoapi.utils.TaskCursor;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,11 +30,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -40,7 +52,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.anyBoolean;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 public class TaskServiceTest {
 
@@ -53,6 +69,12 @@ public class TaskServiceTest {
   @Spy
   TaskMapper taskMapper;
 
+  @Mock
+  TaskListCache taskListCache;
+
+  @Spy
+  Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
   @Mock
   Authentication authentication;
 
@@ -86,17 +108,68 @@ public class TaskServiceTest {
     user.setPassword("123456");
 
     UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
-    List<Task> tasks = this.generateTaskList(user);
+    List<TaskResponseDTO> tasks = this.generateTaskList(user).stream().map(this.taskMapper::toDTO).toList();
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findAllByUserId(eq(authUser.getId()), any())).thenReturn(tasks);
+    when(this.taskRepository.findPageByUserId(eq(authUser.getId()), eq("priority"), eq(Sort.Direction.DESC), isNull(), eq(21)))
+      .thenReturn(tasks);
 
-    List<TaskResponseDTO> userTasks = this.taskService.getAllUserTasks("priority", "desc");
+    TaskPageResponseDTO userTasks = this.taskService.getAllUserTasks("priority", "desc", null, 20);
 
-    assertThat(userTasks).hasSize(3);
+    assertThat(userTasks.tasks()).hasSize(3);
+    assertThat(userTasks.nextCursor()).isNull();
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findAllByUserId(eq(authUser.getId()), any());
+    verify(this.taskRepository, times(1))
+      .findPageByUserId(eq(authUser.getId()), eq("priority"), eq(Sort.Direction.DESC), isNull(), eq(21));
+  }
+
+  @Test
+  @DisplayName("getAllUserTasks - Should return a cursor pointing at the last task of the page when there are more tasks")
+  void getAllUserTasksReturnsNextCursor() {
+    User user = new User();
+    user.setId("01");
+    user.setName("User 1");
+    user.setEmail("teste1@email.com");
+    user.setPassword("123456");
+
+    UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
+    List<TaskResponseDTO> tasks = this.generateTaskList(user).stream().map(this.taskMapper::toDTO).toList();
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.findPageByUserId(eq(authUser.getId()), eq("title"), eq(Sort.Direction.ASC), any(), eq(3)))
+      .thenReturn(tasks);
+
+    TaskPageResponseDTO firstPage = this.taskService.getAllUserTasks("title", "asc", null, 2);
+    TaskCursor cursor = TaskCursor.decode(firstPage.nextCursor());
+
+    assertThat(firstPage.tasks()).hasSize(2);
+    assertThat(cursor.field()).isEqualTo("title");
+    assertThat(cursor.direction()).isEqualTo(Sort.Direction.ASC);
+    assertThat(cursor.value()).isEqualTo(tasks.get(1).title());
+    assertThat(cursor.id()).isEqualTo(tasks.get(1).id());
+
+    this.taskService.getAllUserTasks("title", "asc", firstPage.nextCursor(), 2);
+
+    verify(this.taskRepository, times(1))
+      .findPageByUserId(eq(authUser.getId()), eq("title"), eq(Sort.Direction.ASC), eq(cursor), eq(3));
+  }
+
+  @Test
+  @DisplayName("getAllUserTasks - Should throw an IllegalArgumentException when the cursor was issued for another ordering")
+  void getAllUserTasksFailByMismatchedCursor() throws IllegalArgumentException {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+    String cursor = new TaskCursor("title", Sort.Direction.ASC, "Tarefa 1", "01").encode();
+
+    this.mockAuthentication(authUser);
+
+    Exception thrown = catchException(() -> this.taskService.getAllUserTasks("priority", "asc", cursor, 20));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(IllegalArgumentException.class)
+      .hasMessage("O cursor não corresponde à ordenação solicitada");
+
+    verify(this.taskRepository, never()).findPageByUserId(anyString(), anyString(), any(), any(), anyInt());
   }
 
   @Test
@@ -104,13 +177,13 @@ public class TaskServiceTest {
   void getAllUserTasksFailByNullAuthUser() throws AccessDeniedException {
     this.mockAuthentication(null);
 
-    Exception thrown = catchException(() -> this.taskService.getAllUserTasks("priority", "desc"));
+    Exception thrown = catchException(() -> this.taskService.getAllUserTasks("priority", "desc", null, 20));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
       .hasMessage("Acesso negado");
 
-    verify(this.taskRepository, never()).findAllByUserId(anyString(), any());
+    verify(this.taskRepository, never()).findPageByUserId(anyString(), anyString(), any(), any(), anyInt());
     verify(this.securityContext, times(1)).getAuthentication();
   }
 
@@ -124,19 +197,20 @@ public class TaskServiceTest {
     user.setPassword("123456");
 
     UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
-    List<Task> tasks = this.generateTaskList(user);
+    List<TaskResponseDTO> tasks = this.generateTaskList(user).stream().map(this.taskMapper::toDTO).toList();
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findAllDoneOrNotDone(user.getId(), false)).thenReturn(tasks);
+    when(this.taskRepository.findDoneOrNotDonePageByUserId(user.getId(), false, null, 21)).thenReturn(tasks);
 
-    List<TaskResponseDTO> userTasks = this.taskService.getAllDoneOrNotDoneTasks("false");
+    TaskPageResponseDTO userTasks = this.taskService.getAllDoneOrNotDoneTasks("false", null, 20);
 
-    assertThat(userTasks).allSatisfy(taskResponseDTO -> {
+    assertThat(userTasks.tasks()).allSatisfy(taskResponseDTO -> {
       assertThat(taskResponseDTO.isDone()).isEqualTo(false);
     }).hasSize(3);
+    assertThat(userTasks.nextCursor()).isNull();
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findAllDoneOrNotDone(user.getId(), false);
+    verify(this.taskRepository, times(1)).findDoneOrNotDonePageByUserId(user.getId(), false, null, 21);
   }
 
   @Test
@@ -144,13 +218,13 @@ public class TaskServiceTest {
   void getAllDoneOrNotDoneTasksFailByNullAuthUser() throws AccessDeniedException {
     this.mockAuthentication(null);
 
-    Exception thrown = catchException(() -> this.taskService.getAllDoneOrNotDoneTasks("false"));
+    Exception thrown = catchException(() -> this.taskService.getAllDoneOrNotDoneTasks("false", null, 20));
 
     assertThat(thrown)
       .isExactlyInstanceOf(AccessDeniedException.class)
       .hasMessage("Acesso negado");
 
-    verify(this.taskRepository, never()).findAllDoneOrNotDone(anyString(), anyBoolean());
+    verify(this.taskRepository, never()).findDoneOrNotDonePageByUserId(anyString(), anyBoolean(), any(), anyInt());
     verify(this.securityContext, times(1)).getAuthentication();
   }
 
@@ -186,6 +260,7 @@ public class TaskServiceTest {
     assertThat(createdTask.description()).isEqualTo(newTask.getDescription());
     assertThat(createdTask.priority()).isEqualTo(newTask.getPriority().getValue());
     assertThat(createdTask.isDone()).isEqualTo(newTask.isDone());
+    verify(this.taskListCache, times(1)).invalidate(authUser.getId());
     assertThat(createdTask.createdAt()).isEqualTo(newTask.getCreatedAt());
     assertThat(createdTask.updatedAt()).isEqualTo(newTask.getUpdatedAt());
     assertThat(newTask.getUser().getId()).isEqualTo(authUser.getId());
@@ -234,6 +309,150 @@ public class TaskServiceTest {
     verify(this.taskRepository, never()).save(any(Task.class));
   }
 
+  @Test
+  @DisplayName("createBatch - Should save the valid tasks with one user lookup and report the invalid ones by index")
+  void createBatchSkipsInvalidItems() {
+    User user = new User();
+    user.setId("01");
+
+    UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), "teste1@email.com", "123456");
+    List<TaskCreateDTO> batch = new ArrayList<>();
+    batch.add(new TaskCreateDTO("Task 1", "Descrição task 1", "baixa"));
+    batch.add(new TaskCreateDTO("", null, "urgente"));
+    batch.add(null);
+    batch.add(new TaskCreateDTO("Task 4", null, "alta"));
+
+    this.mockAuthentication(authUser);
+    when(this.userRepository.findById(authUser.getId())).thenReturn(Optional.of(user));
+    when(this.taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<Task> saved = invocation.getArgument(0);
+      saved.forEach(task -> task.setId("id-" + task.getTitle()));
+      return saved;
+    });
+
+    List<TaskBatchItemResultDTO> results = this.taskService.createBatch(batch);
+
+    assertThat(results).extracting(TaskBatchItemResultDTO::index).containsExactly(0, 1, 2, 3);
+    assertThat(results).extracting(TaskBatchItemResultDTO::code).containsExactly(201, 422, 422, 201);
+    assertThat(results.get(0).task().id()).isEqualTo("id-Task 1");
+    assertThat(results.get(3).task().priority()).isEqualTo("alta");
+    assertThat(results.get(1).errors()).extracting(CustomValidationErrors::getField).contains("title", "priority");
+    assertThat(results.get(2).errors()).extracting(CustomValidationErrors::getMessage).containsExactly("O item do lote não pode ser nulo");
+
+    verify(this.userRepository, times(1)).findById(authUser.getId());
+    verify(this.taskRepository, times(1)).saveAll(argThat(tasks -> ((List<Task>) tasks).size() == 2));
+    verify(this.taskListCache, times(1)).invalidateAfterCommit(authUser.getId());
+  }
+
+  @Test
+  @DisplayName("createBatch - Should neither look up the user nor save anything when every item is invalid")
+  void createBatchWithOnlyInvalidItems() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+
+    this.mockAuthentication(authUser);
+
+    List<TaskBatchItemResultDTO> results = this.taskService.createBatch(List.of(new TaskCreateDTO(null, null, null)));
+
+    assertThat(results).singleElement().satisfies(result -> {
+      assertThat(result.code()).isEqualTo(422);
+      assertThat(result.task()).isNull();
+    });
+    verify(this.userRepository, never()).findById(anyString());
+    verify(this.taskRepository, never()).saveAll(anyList());
+    verify(this.taskListCache, never()).invalidate(anyString());
+  }
+
+  @Test
+  @DisplayName("updateBatch - Should update the owned tasks loaded in one query and report foreign, missing and invalid items")
+  void updateBatchMixedResults() {
+    User user = new User();
+    user.setId("01");
+
+    Task owned = new Task();
+    owned.setId("t1");
+    owned.setTitle("Task 1");
+    owned.setPriority(PriorityLevel.LOW);
+    owned.setIsDone(false);
+    owned.setUser(user);
+
+    UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), "teste1@email.com", "123456");
+    List<TaskBatchUpdateDTO> batch = List.of(
+      new TaskBatchUpdateDTO("t1", new TaskUpdateDTO(null, null, "alta", true)),
+      new TaskBatchUpdateDTO("t2", new TaskUpdateDTO(null, null, null, true)),
+      new TaskBatchUpdateDTO("t3", new TaskUpdateDTO(null, null, null, true)),
+      new TaskBatchUpdateDTO("t4", new TaskUpdateDTO("", null, "urgente", null))
+    );
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.findAllByIdInAndUserId(any(), eq(authUser.getId()))).thenReturn(List.of(owned));
+    when(this.taskRepository.findExistingIds(any())).thenReturn(List.of("t2"));
+
+    List<TaskBatchItemResultDTO> results = this.taskService.updateBatch(batch);
+
+    assertThat(results).extracting(TaskBatchItemResultDTO::code).containsExactly(200, 403, 404, 422);
+    assertThat(results.get(0).task().priority()).isEqualTo("alta");
+    assertThat(results.get(0).task().isDone()).isTrue();
+    assertThat(results.get(1).errors()).extracting(CustomValidationErrors::getMessage).containsExactly("Acesso negado");
+    assertThat(results.get(2).errors()).extracting(CustomValidationErrors::getMessage).containsExactly("Tarefa não encontrada");
+    assertThat(results.get(3).errors()).extracting(CustomValidationErrors::getField).contains("task.title", "task.priority");
+    assertThat(owned.getPriority()).isEqualTo(PriorityLevel.HIGH);
+    assertThat(owned.getTitle()).isEqualTo("Task 1");
+
+    verify(this.taskRepository, times(1)).findAllByIdInAndUserId(argThat(ids -> ids.size() == 3), eq(authUser.getId()));
+    verify(this.taskRepository, times(1)).findExistingIds(argThat(ids -> ids.size() == 2));
+    verify(this.taskRepository, times(1)).flush();
+    verify(this.taskListCache, times(1)).invalidateAfterCommit(authUser.getId());
+  }
+
+  @Test
+  @DisplayName("updateBatch - Should neither flush nor invalidate the cache when no task of the batch is owned")
+  void updateBatchWithoutOwnedTasks() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.findAllByIdInAndUserId(any(), eq(authUser.getId()))).thenReturn(List.of());
+    when(this.taskRepository.findExistingIds(any())).thenReturn(List.of());
+
+    List<TaskBatchItemResultDTO> results = this.taskService.updateBatch(
+      List.of(new TaskBatchUpdateDTO("t1", new TaskUpdateDTO(null, null, null, true)))
+    );
+
+    assertThat(results).extracting(TaskBatchItemResultDTO::code).containsExactly(404);
+    verify(this.taskRepository, never()).flush();
+    verify(this.taskListCache, never()).invalidateAfterCommit(anyString());
+  }
+
+  @Test
+  @DisplayName("updateMatching - Should run one scoped update with the converted filters and invalidate the cached lists")
+  void updateMatchingSuccess() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.updateMatchingByUserId(
+      eq(authUser.getId()), eq(false), eq(PriorityLevel.HIGH), isNull(), eq(true), any(LocalDateTime.class)
+    )).thenReturn(3);
+
+    TaskBulkResultDTO result = this.taskService.updateMatching("false", "alta", new TaskBulkUpdateDTO(null, true));
+
+    assertThat(result.affected()).isEqualTo(3);
+    verify(this.taskListCache, times(1)).invalidate(authUser.getId());
+  }
+
+  @Test
+  @DisplayName("deleteMatching - Should run one scoped delete and keep the cached lists when nothing was deleted")
+  void deleteMatchingWithoutMatches() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.deleteMatchingByUserId(authUser.getId(), true, null)).thenReturn(0);
+
+    TaskBulkResultDTO result = this.taskService.deleteMatching("true", null);
+
+    assertThat(result.affected()).isZero();
+    verify(this.taskRepository, times(1)).deleteMatchingByUserId(authUser.getId(), true, null);
+    verify(this.taskListCache, never()).invalidate(anyString());
+  }
+
   private void mockAuthentication(UserSpringSecurity authUser) {
     when(this.authentication.getPrincipal()).thenReturn(authUser);
     when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
@@ -352,23 +571,9 @@ public class TaskServiceTest {
   }
 
   @Test
-  @DisplayName("updateTask - Should update a task and return it")
+  @DisplayName("updateTask - Should update a task in a single owner-scoped statement and return it")
   void updateTaskSuccess() {
-    User user = new User();
-    user.setId("01");
-    user.setName("User 1");
-    user.setEmail("teste1@email.com");
-    user.setPassword("123456");
-
-    UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
-
-    Task task = new Task();
-    task.setId("01");
-    task.setTitle("Tarefa 1");
-    task.setDescription("Descrição 1");
-    task.setPriority(PriorityLevel.LOW);
-    task.setIsDone(false);
-    task.setUser(user);
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
     TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(
       "Tarefa 1 atualizada",
@@ -377,31 +582,90 @@ public class TaskServiceTest {
       true
     );
 
-    Task updatedTask = new Task();
-    updatedTask.setId("01");
-    updatedTask.setTitle("Tarefa 1 atualizada");
-    updatedTask.setDescription("Descrição 1 atualizada");
-    updatedTask.setPriority(PriorityLevel.MEDIUM);
-    updatedTask.setIsDone(true);
-    updatedTask.setUser(user);
+    TaskResponseDTO updatedTask = new TaskResponseDTO(
+      "01",
+      "Tarefa 1 atualizada",
+      "Descrição 1 atualizada",
+      "media",
+      true,
+      LocalDateTime.now(),
+      LocalDateTime.now()
+    );
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
-    when(this.taskRepository.save(task)).thenReturn(task);
+    when(this.taskRepository.updateByIdAndUserId(
+      eq("01"),
+      eq(authUser.getId()),
+      eq("Tarefa 1 atualizada"),
+      eq("Descrição 1 atualizada"),
+      eq(PriorityLevel.MEDIUM),
+      eq(true),
+      any(LocalDateTime.class)
+    )).thenReturn(1);
+    when(this.taskRepository.findResponseById("01")).thenReturn(Optional.of(updatedTask));
 
     TaskResponseDTO updatedTaskReturned = this.taskService.update("01", taskUpdateDTO);
 
-    assertThat(task.getUser().getId()).isEqualTo(authUser.getId());
-    assertThat(updatedTaskReturned.id()).isEqualTo(updatedTask.getId());
-    assertThat(updatedTaskReturned.title()).isEqualTo(updatedTask.getTitle());
-    assertThat(updatedTaskReturned.description()).isEqualTo(updatedTask.getDescription());
-    assertThat(updatedTaskReturned.priority()).isEqualTo(updatedTask.getPriority().getValue());
-    assertThat(updatedTaskReturned.isDone()).isEqualTo(updatedTask.isDone());
-    assertThat(updatedTaskReturned.createdAt()).isEqualTo(task.getUpdatedAt());
+    assertThat(updatedTaskReturned).isEqualTo(updatedTask);
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(task.getId());
-    verify(this.taskRepository, times(1)).save(task);
+    verify(this.taskRepository, times(1)).findResponseById("01");
+    verify(this.taskListCache, times(1)).invalidate(authUser.getId());
+    verify(this.taskRepository, never()).findById(anyString());
+    verify(this.taskRepository, never()).existsById(anyString());
+    verify(this.taskRepository, never()).save(any(Task.class));
+  }
+
+  @Test
+  @DisplayName("updateTask - Should leave the columns of omitted fields untouched")
+  void updateTaskOnlyGivenFields() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+    TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(null, null, null, true);
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.updateByIdAndUserId(
+      eq("01"),
+      eq(authUser.getId()),
+      isNull(),
+      isNull(),
+      isNull(),
+      eq(true),
+      any(LocalDateTime.class)
+    )).thenReturn(1);
+    when(this.taskRepository.findResponseById("01")).thenReturn(Optional.of(
+      new TaskResponseDTO("01", "Tarefa 1", "Descrição 1", "baixa", true, LocalDateTime.now(), LocalDateTime.now())
+    ));
+
+    TaskResponseDTO updatedTaskReturned = this.taskService.update("01", taskUpdateDTO);
+
+    assertThat(updatedTaskReturned.isDone()).isTrue();
+    assertThat(updatedTaskReturned.title()).isEqualTo("Tarefa 1");
+  }
+
+  @Test
+  @DisplayName("updateTask - Should only check ownership and skip the UPDATE when no field is given")
+  void updateTaskWithoutChanges() {
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
+    User user = new User();
+    user.setId(authUser.getId());
+
+    Task task = new Task();
+    task.setId("01");
+    task.setTitle("Tarefa 1");
+    task.setPriority(PriorityLevel.LOW);
+    task.setIsDone(false);
+    task.setUser(user);
+
+    this.mockAuthentication(authUser);
+    when(this.taskRepository.findById("01")).thenReturn(Optional.of(task));
+
+    TaskResponseDTO returned = this.taskService.update("01", new TaskUpdateDTO(null, null, null, null));
+
+    assertThat(returned.id()).isEqualTo(task.getId());
+    assertThat(returned.title()).isEqualTo(task.getTitle());
+    verify(this.taskRepository, never())
+      .updateByIdAndUserId(anyString(), anyString(), any(), any(), any(), any(), any());
+    verifyNoInteractions(this.taskListCache);
   }
 
   @Test
@@ -423,29 +687,15 @@ public class TaskServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, never()).findById(anyString());
-    verify(this.taskRepository, never()).save(any(Task.class));
+    verify(this.taskRepository, never())
+      .updateByIdAndUserId(anyString(), anyString(), any(), any(), any(), any(), any());
   }
 
   @Test
-  @DisplayName("updateTask - Should throw an AccessDeniedException when the task's user ID is different from the authenticated user ID")
+  @DisplayName("updateTask - Should throw an AccessDeniedException when no row is updated and the task belongs to another user")
   void updateTaskFailByInvalidTaskUserId() throws AccessDeniedException {
     UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
-    User user = new User();
-    user.setId("02");
-    user.setName("User 2");
-    user.setEmail("teste2@email.com");
-    user.setPassword("123456");
-
-    Task task = new Task();
-    task.setId("01");
-    task.setTitle("Tarefa 1");
-    task.setDescription("Descrição 1");
-    task.setPriority(PriorityLevel.LOW);
-    task.setIsDone(false);
-    task.setUser(user);
-
     TaskUpdateDTO taskUpdateDTO = new TaskUpdateDTO(
       "Tarefa 1 atualizada",
       "Descrição 1 atualizada",
@@ -454,7 +704,9 @@ public class TaskServiceTest {
     );
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+    when(this.taskRepository.updateByIdAndUserId(anyString(), anyString(), any(), any(), any(), any(), any()))
+      .thenReturn(0);
+    when(this.taskRepository.existsById("01")).thenReturn(true);
 
     Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO));
 
@@ -463,12 +715,12 @@ public class TaskServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(task.getId());
-    verify(this.taskRepository, never()).save(any(Task.class));
+    verify(this.taskRepository, times(1)).existsById("01");
+    verify(this.taskRepository, never()).findResponseById(anyString());
   }
 
   @Test
-  @DisplayName("updateTask - Should throw a RecordNotFoundException when the task does not exist")
+  @DisplayName("updateTask - Should throw a RecordNotFoundException when no row is updated and the task does not exist")
   void updateTaskFailByTaskNotFound() throws RecordNotFoundException {
     UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
@@ -480,7 +732,9 @@ public class TaskServiceTest {
     );
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(anyString())).thenReturn(Optional.empty());
+    when(this.taskRepository.updateByIdAndUserId(anyString(), anyString(), any(), any(), any(), any(), any()))
+      .thenReturn(0);
+    when(this.taskRepository.existsById("01")).thenReturn(false);
 
     Exception thrown = catchException(() -> this.taskService.update("01", taskUpdateDTO));
 
@@ -489,39 +743,25 @@ public class TaskServiceTest {
       .hasMessage("Tarefa não encontrada");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(anyString());
-    verify(this.taskRepository, never()).save(any(Task.class));
+    verify(this.taskRepository, times(1)).existsById("01");
+    verify(this.taskRepository, never()).findResponseById(anyString());
   }
 
   @Test
-  @DisplayName("deleteTask - Should delete a task successfully and not throw any exceptions")
+  @DisplayName("deleteTask - Should delete a task with a single owner-scoped statement and not throw any exceptions")
   void deleteTaskSuccess() {
-    User user = new User();
-    user.setId("01");
-    user.setName("User 1");
-    user.setEmail("teste1@email.com");
-    user.setPassword("123456");
-
-    UserSpringSecurity authUser = new UserSpringSecurity(user.getId(), user.getEmail(), user.getPassword());
-
-    Task task = new Task();
-    task.setId("01");
-    task.setTitle("Tarefa 1");
-    task.setDescription("Descrição 1");
-    task.setPriority(PriorityLevel.LOW);
-    task.setIsDone(false);
-    task.setUser(user);
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
-    doNothing().when(this.taskRepository).deleteById(task.getId());
+    when(this.taskRepository.deleteByIdAndUserId("01", authUser.getId())).thenReturn(1);
 
-    assertThat(task.getUser().getId()).isEqualTo(authUser.getId());
     assertThatNoException().isThrownBy(() -> this.taskService.delete("01"));
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(task.getId());
-    verify(this.taskRepository, times(1)).deleteById(task.getId());
+    verify(this.taskRepository, times(1)).deleteByIdAndUserId("01", authUser.getId());
+    verify(this.taskRepository, never()).findById(anyString());
+    verify(this.taskRepository, never()).existsById(anyString());
+    verify(this.taskListCache, times(1)).invalidate(authUser.getId());
   }
 
   @Test
@@ -536,31 +776,17 @@ public class TaskServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, never()).findById(anyString());
-    verify(this.taskRepository, never()).deleteById(anyString());
+    verify(this.taskRepository, never()).deleteByIdAndUserId(anyString(), anyString());
   }
 
   @Test
-  @DisplayName("deleteTask - Should throw an AccessDeniedException when the task's user ID is different from the authenticated user ID")
+  @DisplayName("deleteTask - Should throw an AccessDeniedException when no row is deleted and the task belongs to another user")
   void deleteTaskFailByInvalidTaskUserId() throws AccessDeniedException {
     UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
-    User user = new User();
-    user.setId("02");
-    user.setName("User 2");
-    user.setEmail("teste2@email.com");
-    user.setPassword("123456");
-
-    Task task = new Task();
-    task.setId("01");
-    task.setTitle("Tarefa 1");
-    task.setDescription("Descrição 1");
-    task.setPriority(PriorityLevel.LOW);
-    task.setIsDone(false);
-    task.setUser(user);
-
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+    when(this.taskRepository.deleteByIdAndUserId("01", authUser.getId())).thenReturn(0);
+    when(this.taskRepository.existsById("01")).thenReturn(true);
 
     Exception thrown = catchException(() -> this.taskService.delete("01"));
 
@@ -569,17 +795,18 @@ public class TaskServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(task.getId());
-    verify(this.taskRepository, never()).deleteById(anyString());
+    verify(this.taskRepository, times(1)).deleteByIdAndUserId("01", authUser.getId());
+    verify(this.taskRepository, times(1)).existsById("01");
   }
 
   @Test
-  @DisplayName("deleteTask - Should throw a RecordNotFoundException when the task does not exist")
+  @DisplayName("deleteTask - Should throw a RecordNotFoundException when no row is deleted and the task does not exist")
   void deleteTaskFailByTaskNotFound() throws RecordNotFoundException {
     UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", "123456");
 
     this.mockAuthentication(authUser);
-    when(this.taskRepository.findById(anyString())).thenReturn(Optional.empty());
+    when(this.taskRepository.deleteByIdAndUserId("01", authUser.getId())).thenReturn(0);
+    when(this.taskRepository.existsById("01")).thenReturn(false);
 
     Exception thrown = catchException(() -> this.taskService.delete("01"));
 
@@ -588,8 +815,8 @@ public class TaskServiceTest {
       .hasMessage("Tarefa não encontrada");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.taskRepository, times(1)).findById(anyString());
-    verify(this.taskRepository, never()).deleteById(anyString());
+    verify(this.taskRepository, times(1)).deleteByIdAndUserId("01", authUser.getId());
+    verify(this.taskRepository, times(1)).existsById("01");
   }
 
   private List<Task> generateTaskList(User user) {
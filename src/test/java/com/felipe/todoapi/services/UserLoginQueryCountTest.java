@@ -0,0 +1,68 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.dtos.LoginDTO;
+import com.felipe.todoapi.dtos.LoginResponseDTO;
+import com.felipe.todoapi.dtos.UserRegisterDTO;
+import com.felipe.todoapi.dtos.UserResponseDTO;
+import com.felipe.todoapi.models.RefreshToken;
+import com.felipe.todoapi.models.User;
+import com.felipe.todoapi.repositories.RefreshTokenRepository;
+import com.felipe.todoapi.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserLoginQueryCountTest {
+
+  private static final String EMAIL = "login@email.com";
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @AfterEach
+  void tearDown() {
+    this.userRepository.findByEmail(EMAIL).ifPresent(user -> {
+      this.refreshTokenRepository.deleteAllByUserId(user.getId());
+      this.userRepository.delete(user);
+    });
+  }
+
+  @Test
+  @DisplayName("userLogin - Should authenticate and build the response with exactly one users SELECT and the refresh token INSERT")
+  void loginIssuesSingleUsersSelect() {
+    UserResponseDTO registered = this.userService.register(new UserRegisterDTO("User 1", EMAIL, "123456"));
+
+    Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    LoginResponseDTO loggedIn = this.userService.login(new LoginDTO(EMAIL, "123456"), "127.0.0.1");
+
+    assertThat(loggedIn.id()).isEqualTo(registered.id());
+    assertThat(loggedIn.name()).isEqualTo("User 1");
+    assertThat(loggedIn.email()).isEqualTo(EMAIL);
+    assertThat(loggedIn.refreshToken()).isNotBlank();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+    assertThat(statistics.getEntityStatistics(RefreshToken.class.getName()).getInsertCount()).isEqualTo(1);
+  }
+}
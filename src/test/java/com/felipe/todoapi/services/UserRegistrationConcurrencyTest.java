@@ -0,0 +1,75 @@
+package com.felipe.todoapi.services;
+
+import com.felipe.todoapi.dtos.UserRegisterDTO;
+import com.felipe.todoapi.exceptions.UserAlreadyExistsException;
+import com.felipe.todoapi.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserRegistrationConcurrencyTest {
+
+  private static final String EMAIL = "concorrente@email.com";
+  private static final int THREADS = 8;
+
+  @Autowired
+  UserService userService;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @AfterEach
+  void tearDown() {
+    this.userRepository.findByEmail(EMAIL).ifPresent(this.userRepository::delete);
+  }
+
+  @Test
+  @DisplayName("userRegister - Should register exactly one user when the same e-mail is submitted concurrently")
+  void concurrentDuplicateRegistrations() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    for(int i = 0; i < THREADS; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        return this.userService.register(new UserRegisterDTO("User", EMAIL, "123456"));
+      }));
+    }
+
+    start.countDown();
+
+    int succeeded = 0;
+    int conflicts = 0;
+
+    for(Future<?> result : results) {
+      try {
+        result.get();
+        succeeded++;
+      } catch(ExecutionException e) {
+        assertThat(e.getCause()).isExactlyInstanceOf(UserAlreadyExistsException.class);
+        conflicts++;
+      }
+    }
+    executor.shutdown();
+
+    assertThat(succeeded).isEqualTo(1);
+    assertThat(conflicts).isEqualTo(THREADS - 1);
+    assertThat(this.userRepository.findByEmail(EMAIL)).isPresent();
+  }
+}
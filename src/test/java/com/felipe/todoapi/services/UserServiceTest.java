@@ -2,10 +2,17 @@ package com.felipe.todoapi.services;
 
 import com.felipe.todoapi.dtos.LoginDTO;
 import com.felipe.todoapi.dtos.LoginResponseDTO;
+import com.felipe.todoapi.dtos.RefreshTokenDTO;
+import com.felipe.todoapi.dtos.TokenResponseDTO;
 import com.felipe.todoapi.dtos.UserRegisterDTO;
 import com.felipe.todoapi.dtos.UserResponseDTO;
+import com.felipe.todoapi.exceptions.LoginLockedException;
 import com.felipe.todoapi.exceptions.RecordNotFoundException;
 import com.felipe.todoapi.exceptions.UserAlreadyExistsException;
+import com.felipe.todoapi.infra.cache.TaskListCache;
+import com.felipe.todoapi.infra.security.LoginThrottle;
+import com.felipe.todoapi.infra.security.PrincipalCache;
+import com.felipe.todoapi.infra.security.TokenRevocationList;
 import com.felipe.todoapi.infra.security.TokenService;
 import com.felipe.todoapi.infra.security.UserSpringSecurity;
 import com.felipe.todoapi.models.User;
@@ -18,14 +25,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.catchException;
@@ -39,7 +52,6 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.doNothing;
 
 public class UserServiceTest {
 
@@ -58,6 +70,27 @@ public class UserServiceTest {
   @Mock
   TokenService tokenService;
 
+  @Mock
+  PrincipalCache principalCache;
+
+  @Mock
+  AccountDeletionService accountDeletionService;
+
+  @Mock
+  PasswordEncoder passwordEncoder;
+
+  @Mock
+  RefreshTokenService refreshTokenService;
+
+  @Mock
+  TokenRevocationList tokenRevocationList;
+
+  @Mock
+  LoginThrottle loginThrottle;
+
+  @Mock
+  TaskListCache taskListCache;
+
   @Autowired
   @InjectMocks
   UserService userService;
@@ -86,8 +119,8 @@ public class UserServiceTest {
     user.setEmail(userDTO.email());
     user.setPassword(userDTO.password());
 
-    when(this.userRepository.findByEmail(userDTO.email())).thenReturn(Optional.empty());
-    when(this.userRepository.save(any(User.class))).thenReturn(user);
+    when(this.passwordEncoder.encode(userDTO.password())).thenReturn("hash");
+    when(this.userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
     UserResponseDTO createdUser = this.userService.register(userDTO);
 
@@ -96,8 +129,9 @@ public class UserServiceTest {
     assertThat(createdUser.email()).isEqualTo(user.getEmail());
     assertThat(createdUser.createdAt()).isEqualTo(user.getCreatedAt());
 
-    verify(this.userRepository, times(1)).findByEmail(userDTO.email());
-    verify(this.userRepository, times(1)).save(any(User.class));
+    verify(this.passwordEncoder, times(1)).encode(userDTO.password());
+    verify(this.userRepository, never()).findByEmail(anyString());
+    verify(this.userRepository, times(1)).saveAndFlush(any(User.class));
   }
 
   @Test
@@ -105,13 +139,12 @@ public class UserServiceTest {
   void userRegisterFailWithAnExistentUser() throws UserAlreadyExistsException {
     UserRegisterDTO userDTO = new UserRegisterDTO("User 1", "teste1@email.com", "123456");
 
-    User user = new User();
-    user.setId("01");
-    user.setName(userDTO.name());
-    user.setEmail(userDTO.email());
-    user.setPassword(userDTO.password());
-
-    when(this.userRepository.findByEmail(userDTO.email())).thenReturn(Optional.of(user));
+    when(this.passwordEncoder.encode(userDTO.password())).thenReturn("hash");
+    when(this.userRepository.saveAndFlush(any(User.class)))
+      .thenThrow(new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException("duplicate key", new SQLException(), "uk_users_email")
+      ));
 
     Exception thrown = catchException(() -> this.userService.register(userDTO));
 
@@ -119,7 +152,25 @@ public class UserServiceTest {
       .isExactlyInstanceOf(UserAlreadyExistsException.class)
       .hasMessage("E-mail já cadastrado!");
 
-    verify(this.userRepository, times(1)).findByEmail(userDTO.email());
+    verify(this.userRepository, never()).findByEmail(anyString());
+    verify(this.userRepository, times(1)).saveAndFlush(any(User.class));
+  }
+
+  @Test
+  @DisplayName("userRegister - Should rethrow constraint violations other than the unique e-mail")
+  void userRegisterFailWithOtherConstraintViolation() {
+    UserRegisterDTO userDTO = new UserRegisterDTO("User 1", "teste1@email.com", "123456");
+    DataIntegrityViolationException violation = new DataIntegrityViolationException(
+      "could not execute statement",
+      new ConstraintViolationException("value too long", new SQLException(), null)
+    );
+
+    when(this.passwordEncoder.encode(userDTO.password())).thenReturn("hash");
+    when(this.userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
+
+    Exception thrown = catchException(() -> this.userService.register(userDTO));
+
+    assertThat(thrown).isSameAs(violation);
   }
 
   @Test
@@ -128,26 +179,60 @@ public class UserServiceTest {
     LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
     Authentication usernamePassword = new UsernamePasswordAuthenticationToken(loginData.email(), loginData.password());
 
-    User user = new User();
-    user.setId("01");
-    user.setName("User 1");
-    user.setEmail(loginData.email());
-    user.setPassword(loginData.password());
+    UserSpringSecurity principal = new UserSpringSecurity("01", "User 1", loginData.email(), "hash", 0);
 
     when(this.authenticationManager.authenticate(usernamePassword)).thenReturn(this.authentication);
-    when(this.tokenService.generateToken(any())).thenReturn("AccessToken");
-    when(this.userRepository.findByEmail(loginData.email())).thenReturn(Optional.of(user));
+    when(this.authentication.getPrincipal()).thenReturn(principal);
+    when(this.tokenService.generateToken(principal)).thenReturn("AccessToken");
+    when(this.refreshTokenService.issue(principal.getId(), principal.getTokenVersion())).thenReturn("RefreshToken");
 
-    LoginResponseDTO authenticatedUser = this.userService.login(loginData);
+    LoginResponseDTO authenticatedUser = this.userService.login(loginData, "127.0.0.1");
 
-    assertThat(authenticatedUser.id()).isEqualTo(user.getId());
-    assertThat(authenticatedUser.name()).isEqualTo(user.getName());
-    assertThat(authenticatedUser.email()).isEqualTo(user.getEmail());
+    assertThat(authenticatedUser.id()).isEqualTo(principal.getId());
+    assertThat(authenticatedUser.name()).isEqualTo(principal.getName());
+    assertThat(authenticatedUser.email()).isEqualTo(principal.getUsername());
     assertThat(authenticatedUser.token()).isEqualTo("AccessToken");
+    assertThat(authenticatedUser.refreshToken()).isEqualTo("RefreshToken");
 
     verify(this.authenticationManager, times(1)).authenticate(usernamePassword);
-    verify(this.tokenService, times(1)).generateToken(any());
-    verify(this.userRepository, times(1)).findByEmail(loginData.email());
+    verify(this.loginThrottle, times(1)).acquire(loginData.email(), "127.0.0.1");
+    verify(this.loginThrottle, times(1)).recordSuccess(loginData.email(), "127.0.0.1");
+    verify(this.tokenService, times(1)).generateToken(principal);
+    verify(this.refreshTokenService, times(1)).issue(principal.getId(), principal.getTokenVersion());
+    verify(this.userRepository, never()).findByEmail(anyString());
+  }
+
+  @Test
+  @DisplayName("refreshToken - Should rotate the refresh token and sign a new access token for its user without touching passwords")
+  void refreshTokenSuccess() {
+    UserSpringSecurity principal = new UserSpringSecurity("01", "User 1", "teste1@email.com", null, 0);
+
+    when(this.refreshTokenService.rotate("RefreshToken"))
+      .thenReturn(new RefreshTokenService.Rotation(principal, "NewRefreshToken"));
+    when(this.tokenService.generateToken(principal)).thenReturn("NewAccessToken");
+
+    TokenResponseDTO tokens = this.userService.refresh(new RefreshTokenDTO("RefreshToken"));
+
+    assertThat(tokens.token()).isEqualTo("NewAccessToken");
+    assertThat(tokens.refreshToken()).isEqualTo("NewRefreshToken");
+
+    verify(this.authenticationManager, never()).authenticate(any());
+    verify(this.passwordEncoder, never()).matches(any(), any());
+  }
+
+  @Test
+  @DisplayName("refreshToken - Should not sign an access token when the refresh token is rejected")
+  void refreshTokenFailByInvalidToken() throws BadCredentialsException {
+    when(this.refreshTokenService.rotate("RefreshToken"))
+      .thenThrow(new BadCredentialsException("Refresh token inválido, expirado ou revogado"));
+
+    Exception thrown = catchException(() -> this.userService.refresh(new RefreshTokenDTO("RefreshToken")));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+
+    verify(this.tokenService, never()).generateToken(any());
   }
 
   @Test
@@ -157,35 +242,103 @@ public class UserServiceTest {
 
     doThrow(BadCredentialsException.class).when(this.authenticationManager).authenticate(any());
 
-    Exception thrown = catchException(() -> this.userService.login(loginData));
+    Exception thrown = catchException(() -> this.userService.login(loginData, "127.0.0.1"));
 
     assertThat(thrown)
       .isExactlyInstanceOf(BadCredentialsException.class)
       .hasMessage("Usuário ou senha inválidos");
 
     verify(this.authenticationManager, times(1)).authenticate(any());
+    verify(this.loginThrottle, times(1)).acquire(loginData.email(), "127.0.0.1");
+    verify(this.loginThrottle, never()).release(anyString(), anyString());
+    verify(this.loginThrottle, never()).recordSuccess(anyString(), anyString());
     verify(this.tokenService, never()).generateToken(any());
     verify(this.userRepository, never()).findByEmail(any());
   }
 
   @Test
-  @DisplayName("userLogin - Should throw a RecordNotFoundException when provided email does not exist")
-  void userLoginFailByNotFoundUser() throws RecordNotFoundException {
+  @DisplayName("userLogin - Should give the reserved attempt back when authentication fails for a reason other than the password")
+  void userLoginReleasesAttemptOnOtherFailure() {
     LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
 
-    when(this.authenticationManager.authenticate(any())).thenReturn(this.authentication);
-    when(this.tokenService.generateToken(any())).thenReturn("AccessToken");
-    when(this.userRepository.findByEmail(loginData.email())).thenReturn(Optional.empty());
+    doThrow(new InternalAuthenticationServiceException("Serviço indisponível"))
+      .when(this.authenticationManager).authenticate(any());
 
-    Exception thrown = catchException(() -> this.userService.login(loginData));
+    Exception thrown = catchException(() -> this.userService.login(loginData, "127.0.0.1"));
+
+    assertThat(thrown).isExactlyInstanceOf(InternalAuthenticationServiceException.class);
+    verify(this.loginThrottle, times(1)).release(loginData.email(), "127.0.0.1");
+    verify(this.loginThrottle, never()).recordSuccess(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("userLogin - Should reject a locked out attempt before any password verification")
+  void userLoginFailByLockout() throws LoginLockedException {
+    LoginDTO loginData = new LoginDTO("teste1@email.com", "123456");
+
+    doThrow(new LoginLockedException("Muitas tentativas de login, tente novamente mais tarde", 30))
+      .when(this.loginThrottle).acquire(loginData.email(), "127.0.0.1");
+
+    Exception thrown = catchException(() -> this.userService.login(loginData, "127.0.0.1"));
 
     assertThat(thrown)
-      .isExactlyInstanceOf(RecordNotFoundException.class)
-      .hasMessage("Usuário não encontrado");
+      .isExactlyInstanceOf(LoginLockedException.class)
+      .hasMessage("Muitas tentativas de login, tente novamente mais tarde");
 
-    verify(this.userRepository, times(1)).findByEmail(loginData.email());
-    verify(this.authenticationManager, times(1)).authenticate(any());
-    verify(this.tokenService, times(1)).generateToken(any());
+    verify(this.authenticationManager, never()).authenticate(any());
+    verify(this.loginThrottle, never()).release(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("logout - Should revoke the access token used on the request and the refresh token family")
+  void logoutSuccess() {
+    Instant expiresAt = Instant.now().plusSeconds(900);
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", null, 0, "jti-1", expiresAt);
+
+    when(this.authentication.getPrincipal()).thenReturn(authUser);
+    when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
+    SecurityContextHolder.setContext(this.securityContext);
+
+    assertThatNoException().isThrownBy(() -> this.userService.logout(new RefreshTokenDTO("refresh-1")));
+
+    verify(this.tokenRevocationList, times(1)).revoke("jti-1", expiresAt);
+    verify(this.refreshTokenService, times(1)).revokeFamily("refresh-1", "01");
+  }
+
+  @Test
+  @DisplayName("logout - Should revoke the access token even when no refresh token is sent")
+  void logoutWithoutRefreshToken() {
+    Instant expiresAt = Instant.now().plusSeconds(900);
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", null, 0, "jti-1", expiresAt);
+
+    when(this.authentication.getPrincipal()).thenReturn(authUser);
+    when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
+    SecurityContextHolder.setContext(this.securityContext);
+
+    assertThatNoException().isThrownBy(() -> this.userService.logout(null));
+
+    verify(this.tokenRevocationList, times(1)).revoke("jti-1", expiresAt);
+    verify(this.refreshTokenService, never()).revokeFamily(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("logout - Should revoke the access token and report a refresh token that revoked no family")
+  void logoutFailByUnknownRefreshToken() {
+    Instant expiresAt = Instant.now().plusSeconds(900);
+    UserSpringSecurity authUser = new UserSpringSecurity("01", "teste1@email.com", null, 0, "jti-1", expiresAt);
+
+    when(this.authentication.getPrincipal()).thenReturn(authUser);
+    when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
+    SecurityContextHolder.setContext(this.securityContext);
+    doThrow(new BadCredentialsException("Refresh token inválido, expirado ou revogado"))
+      .when(this.refreshTokenService).revokeFamily("desconhecido", "01");
+
+    Exception thrown = catchException(() -> this.userService.logout(new RefreshTokenDTO("desconhecido")));
+
+    assertThat(thrown)
+      .isExactlyInstanceOf(BadCredentialsException.class)
+      .hasMessage("Refresh token inválido, expirado ou revogado");
+    verify(this.tokenRevocationList, times(1)).revoke("jti-1", expiresAt);
   }
 
   @Test
@@ -289,16 +442,20 @@ public class UserServiceTest {
 
     when(this.authentication.getPrincipal()).thenReturn(authUser);
     when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
-    when(this.userRepository.findById("01")).thenReturn(Optional.of(user));
-    doNothing().when(this.userRepository).deleteById(user.getId());
+    when(this.userRepository.existsById("01")).thenReturn(true);
+    when(this.accountDeletionService.deleteAccount(user.getId())).thenReturn(3L);
 
     SecurityContextHolder.setContext(this.securityContext);
 
     assertThatNoException().isThrownBy(() -> this.userService.delete("01"));
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.userRepository, times(1)).findById("01");
-    verify(this.userRepository, times(1)).deleteById(user.getId());
+    verify(this.userRepository, times(1)).existsById("01");
+    verify(this.userRepository, never()).findById(anyString());
+    verify(this.userRepository, never()).deleteById(anyString());
+    verify(this.accountDeletionService, times(1)).deleteAccount(user.getId());
+    verify(this.principalCache, times(1)).invalidate(user.getId());
+    verify(this.taskListCache, times(1)).invalidate(user.getId());
   }
 
   @Test
@@ -316,8 +473,9 @@ public class UserServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.userRepository, never()).findById(anyString());
-    verify(this.userRepository, never()).deleteById(anyString());
+    verify(this.userRepository, never()).existsById(anyString());
+    verify(this.accountDeletionService, never()).deleteAccount(anyString());
+    verify(this.principalCache, never()).invalidate(anyString());
   }
 
   @Test
@@ -337,8 +495,9 @@ public class UserServiceTest {
       .hasMessage("Acesso negado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.userRepository, never()).findById(anyString());
-    verify(this.userRepository, never()).deleteById(anyString());
+    verify(this.userRepository, never()).existsById(anyString());
+    verify(this.accountDeletionService, never()).deleteAccount(anyString());
+    verify(this.principalCache, never()).invalidate(anyString());
   }
 
   @Test
@@ -348,7 +507,7 @@ public class UserServiceTest {
 
     when(this.authentication.getPrincipal()).thenReturn(authUser);
     when(this.securityContext.getAuthentication()).thenReturn(this.authentication);
-    when(this.userRepository.findById("01")).thenReturn(Optional.empty());
+    when(this.userRepository.existsById("01")).thenReturn(false);
 
     SecurityContextHolder.setContext(this.securityContext);
 
@@ -359,7 +518,7 @@ public class UserServiceTest {
       .hasMessage("Usuário não encontrado");
 
     verify(this.securityContext, times(1)).getAuthentication();
-    verify(this.userRepository, times(1)).findById("01");
-    verify(this.userRepository, never()).deleteById(anyString());
+    verify(this.userRepository, times(1)).existsById("01");
+    verify(this.accountDeletionService, never()).deleteAccount(anyString());
   }
 }